@@ -0,0 +1,60 @@
+// k6 load profile used to compare the servlet and the reactive execution mode.
+// Run it once per mode against the same hardware, container limits and MongoDB:
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=200 -e DURATION=5m load-test/notes.js
+// The mix is read-heavy (list, get, stats) with a share of creates and updates.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const NOTES = `${BASE_URL}/api/v1/notes`;
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+const TAGS = ['BUSINESS', 'PERSONAL', 'IMPORTANT'];
+
+export const options = {
+    scenarios: {
+        mixed: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 100),
+            duration: __ENV.DURATION || '2m',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const ids = [];
+    for (let i = 0; i < 200; i++) {
+        const response = http.post(NOTES, JSON.stringify(note(i)), JSON_HEADERS);
+        if (response.status === 201) {
+            ids.push(response.json('id'));
+        }
+    }
+    return { ids };
+}
+
+export default function (data) {
+    const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+    const roll = Math.random();
+    let response;
+    if (roll < 0.35) {
+        response = http.get(`${NOTES}/${id}`, { tags: { name: 'get' } });
+    } else if (roll < 0.6) {
+        const tag = TAGS[Math.floor(Math.random() * TAGS.length)];
+        response = http.get(`${NOTES}?page=0&size=20&tag=${tag}`, { tags: { name: 'list' } });
+    } else if (roll < 0.8) {
+        response = http.get(`${NOTES}/${id}/stats`, { tags: { name: 'stats' } });
+    } else if (roll < 0.9) {
+        response = http.post(NOTES, JSON.stringify(note(__ITER)), Object.assign({ tags: { name: 'create' } }, JSON_HEADERS));
+    } else {
+        response = http.put(`${NOTES}/${id}`, JSON.stringify(note(__ITER)), Object.assign({ tags: { name: 'update' } }, JSON_HEADERS));
+    }
+    check(response, { 'no server error': (r) => r.status < 500 });
+}
+
+function note(i) {
+    return {
+        title: `Load test note ${i}`,
+        text: 'The quick brown fox jumps over the lazy dog. '.repeat(1 + (i % 20)),
+        tags: [TAGS[i % TAGS.length]],
+    };
+}
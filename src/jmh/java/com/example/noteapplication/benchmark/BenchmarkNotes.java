@@ -0,0 +1,36 @@
+package com.example.noteapplication.benchmark;
+
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.Tag;
+import com.example.noteapplication.service.WordFrequencyCounter;
+import org.bson.types.ObjectId;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Note fixtures shared by the benchmarks.
+ */
+final class BenchmarkNotes {
+    private static final String SENTENCE = "Discuss project timeline and budget allocation with the team. " +
+            "Обговорити бюджет проєкту з командою. ";
+
+    private BenchmarkNotes() {
+    }
+
+    static String text(int length) {
+        return SENTENCE.repeat(length / SENTENCE.length() + 1).substring(0, length);
+    }
+
+    static Note note(int textLength) {
+        String text = text(textLength);
+        return Note.builder()
+                .id(new ObjectId().toHexString())
+                .title("Quarterly Business Review Meeting")
+                .text(text)
+                .tags(Set.of(Tag.BUSINESS, Tag.IMPORTANT))
+                .createdDate(LocalDateTime.of(2024, 11, 9, 14, 30))
+                .wordStatistics(WordFrequencyCounter.count(text))
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.noteapplication.benchmark;
+
+import com.example.noteapplication.dto.NoteListResponse;
+import com.example.noteapplication.mapper.NoteMapper;
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.NoteSummary;
+import com.example.noteapplication.model.Tag;
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client side cost of one list page: BSON decoding and entity mapping of full note documents
+ * versus the {@link NoteSummary} projection. Run with {@code -prof gc} to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoteListProjectionBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    @Param({"1024", "8192", "65536"})
+    private int textLength;
+
+    private final DocumentCodec codec = new DocumentCodec();
+    private final NoteMapper mapper = new NoteMapper();
+    private MappingMongoConverter converter;
+    private byte[][] fullDocuments;
+    private byte[][] projectedDocuments;
+
+    @Setup
+    public void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        String text = "lorem ipsum dolor sit amet ".repeat(textLength / 27 + 1).substring(0, textLength);
+        fullDocuments = new byte[PAGE_SIZE][];
+        projectedDocuments = new byte[PAGE_SIZE][];
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Note note = Note.builder()
+                    .id(new ObjectId().toHexString())
+                    .title("Note " + i)
+                    .text(text)
+                    .tags(Set.of(Tag.BUSINESS, Tag.IMPORTANT))
+                    .createdDate(LocalDateTime.now().minusMinutes(i))
+                    .build();
+            Document full = new Document();
+            converter.write(note, full);
+            Document projected = new Document("_id", full.get("_id"))
+                    .append("title", full.get("title"))
+                    .append("createdDate", full.get("createdDate"));
+            fullDocuments[i] = toBytes(full);
+            projectedDocuments[i] = toBytes(projected);
+        }
+    }
+
+    @Benchmark
+    public List<NoteListResponse> fullDocuments() {
+        List<NoteListResponse> page = new ArrayList<>(PAGE_SIZE);
+        for (byte[] bytes : fullDocuments) {
+            page.add(mapper.mapToListResponse(converter.read(Note.class, decode(bytes))));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public List<NoteListResponse> projectedDocuments() {
+        List<NoteListResponse> page = new ArrayList<>(PAGE_SIZE);
+        for (byte[] bytes : projectedDocuments) {
+            page.add(mapper.mapToListResponse(converter.read(NoteSummary.class, decode(bytes))));
+        }
+        return page;
+    }
+
+    private Document decode(byte[] bytes) {
+        return codec.decode(new BsonBinaryReader(ByteBuffer.wrap(bytes)), DECODER_CONTEXT);
+    }
+
+    private byte[] toBytes(Document document) {
+        ByteBuffer buffer = new RawBsonDocument(document, codec).getByteBuffer().asNIO();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
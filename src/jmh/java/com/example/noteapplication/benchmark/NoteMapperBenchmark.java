@@ -0,0 +1,52 @@
+package com.example.noteapplication.benchmark;
+
+import com.example.noteapplication.dto.NoteDetailResponse;
+import com.example.noteapplication.dto.NoteListResponse;
+import com.example.noteapplication.mapper.NoteMapper;
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.NoteSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoteMapperBenchmark {
+    private final NoteMapper mapper = new NoteMapper();
+    private Note note;
+    private NoteSummary summary;
+
+    @Setup
+    public void setUp() {
+        note = BenchmarkNotes.note(4096);
+        summary = new NoteSummary(note.getId(), note.getTitle(), note.getCreatedDate());
+    }
+
+    @Benchmark
+    public NoteDetailResponse mapToDetailResponse() {
+        return mapper.mapToDetailResponse(note);
+    }
+
+    @Benchmark
+    public NoteListResponse mapNoteToListResponse() {
+        return mapper.mapToListResponse(note);
+    }
+
+    @Benchmark
+    public NoteListResponse mapSummaryToListResponse() {
+        return mapper.mapToListResponse(summary);
+    }
+}
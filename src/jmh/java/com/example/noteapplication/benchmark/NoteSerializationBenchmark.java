@@ -0,0 +1,92 @@
+package com.example.noteapplication.benchmark;
+
+import com.example.noteapplication.dto.NoteDetailResponse;
+import com.example.noteapplication.dto.NoteListResponse;
+import com.example.noteapplication.mapper.NoteMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Encoding and decoding of the response bodies as JSON, CBOR and Smile, with the same ObjectMapper defaults
+ * Spring Boot applies. The payload sizes of each format are printed once per trial. List pages are decoded
+ * into a tree, as a client without the server's page class would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoteSerializationBenchmark {
+    @Param({"1024", "65536"})
+    private int textLength;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private NoteDetailResponse detail;
+    private Page<NoteListResponse> page;
+    private byte[] encodedDetail;
+    private byte[] encodedPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> Jackson2ObjectMapperBuilder.json();
+        };
+        objectMapper = builder.build();
+        NoteMapper mapper = new NoteMapper();
+        detail = mapper.mapToDetailResponse(BenchmarkNotes.note(textLength));
+        List<NoteListResponse> content = IntStream.range(0, 20)
+                .mapToObj(i -> mapper.mapToListResponse(BenchmarkNotes.note(16)))
+                .toList();
+        page = new PageImpl<>(content, PageRequest.of(0, 20), 1000);
+        encodedDetail = objectMapper.writeValueAsBytes(detail);
+        encodedPage = objectMapper.writeValueAsBytes(page);
+        System.out.printf("%n%s: detail %d bytes, list page %d bytes%n", format, encodedDetail.length, encodedPage.length);
+    }
+
+    @Benchmark
+    public byte[] detailResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(detail);
+    }
+
+    @Benchmark
+    public byte[] listPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public NoteDetailResponse decodeDetailResponse() throws IOException {
+        return objectMapper.readValue(encodedDetail, NoteDetailResponse.class);
+    }
+
+    @Benchmark
+    public JsonNode decodeListPage() throws IOException {
+        return objectMapper.readTree(encodedPage);
+    }
+}
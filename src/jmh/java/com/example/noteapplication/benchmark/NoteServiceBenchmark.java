@@ -0,0 +1,106 @@
+package com.example.noteapplication.benchmark;
+
+import com.example.noteapplication.dto.NoteDetailResponse;
+import com.example.noteapplication.mapper.NoteMapper;
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.NoteWordStatistics;
+import com.example.noteapplication.repository.NoteRepository;
+import com.example.noteapplication.service.CorpusWordStatistics;
+import com.example.noteapplication.service.NoteCache;
+import com.example.noteapplication.service.NoteFactory;
+import com.example.noteapplication.service.NoteService;
+import com.example.noteapplication.service.NoteServiceImpl;
+import com.example.noteapplication.service.NoteTitleIndex;
+import com.example.noteapplication.service.NoteTotalCounter;
+import com.example.noteapplication.service.TagCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NoteServiceImpl} read paths over an in-memory repository, so only service-side CPU is measured.
+ * {@code legacyWordStatistics} is a note stored before statistics were precomputed on write,
+ * {@code getNoteByIdCacheMiss} goes through a cache too small to hold the note.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoteServiceBenchmark {
+    @Param({"1024", "65536"})
+    private int textLength;
+
+    private Note note;
+    private NoteService service;
+    private NoteService legacyService;
+    private NoteService uncachedService;
+
+    @Setup
+    public void setUp() {
+        note = BenchmarkNotes.note(textLength);
+        service = service(repository(note, note.getWordStatistics()), DataSize.ofMegabytes(64));
+        legacyService = service(repository(note, null), DataSize.ofMegabytes(64));
+        uncachedService = service(repository(note, note.getWordStatistics()), DataSize.ofBytes(0));
+    }
+
+    @Benchmark
+    public NoteDetailResponse getNoteById() {
+        return service.getNoteById(note.getId());
+    }
+
+    @Benchmark
+    public NoteDetailResponse getNoteByIdCacheMiss() {
+        return uncachedService.getNoteById(note.getId());
+    }
+
+    @Benchmark
+    public NoteWordStatistics storedWordStatistics() {
+        return service.getWordStatistics(note.getId());
+    }
+
+    @Benchmark
+    public NoteWordStatistics legacyWordStatistics() {
+        return legacyService.getWordStatistics(note.getId());
+    }
+
+    private static NoteService service(NoteRepository repository, DataSize cacheSize) {
+        return new NoteServiceImpl(repository, new NoteMapper(),
+                new NoteTotalCounter(repository, Runnable::run, Duration.ofSeconds(30), Duration.ofSeconds(2)),
+                new NoteCache(cacheSize, Duration.ofMinutes(10), new SimpleMeterRegistry()),
+                new NoteTitleIndex(repository, Runnable::run, 10_000, new SimpleMeterRegistry()),
+                new CorpusWordStatistics(repository, 1, 500),
+                new TagCounter(repository, Runnable::run),
+                new NoteFactory(Validation.buildDefaultValidatorFactory().getValidator()));
+    }
+
+    private static NoteRepository repository(Note note, Map<String, Long> storedStatistics) {
+        return (NoteRepository) Proxy.newProxyInstance(
+                NoteRepository.class.getClassLoader(),
+                new Class<?>[]{NoteRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.of(note);
+                    case "findWordStatisticsById" -> Optional.of(NoteWordStatistics.of(note, storedStatistics));
+                    case "saveWordStatistics" -> 1L;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.noteapplication.benchmark;
+
+import com.example.noteapplication.model.CompressedText;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of storing note texts compressed: deflating on write and inflating on read. The text is drawn from
+ * a shuffled vocabulary rather than {@link BenchmarkNotes#text}, whose repeated sentence compresses unrealistically
+ * well; its compression ratio is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoteTextCompressionBenchmark {
+    private static final String[] WORDS = ("project timeline budget allocation team meeting client call review " +
+            "quarter goals report deadline draft release notes feedback design issue plan schedule проєкт бюджет " +
+            "команда зустріч звіт клієнт план").split(" ");
+
+    @Param({"16384", "262144"})
+    private int textLength;
+
+    private byte[] utf8;
+    private byte[] compressed;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder(textLength + 16);
+        while (text.length() < textLength) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(12) == 0 ? ".\n" : " ");
+        }
+        utf8 = text.substring(0, textLength).getBytes(StandardCharsets.UTF_8);
+        compressed = CompressedText.deflate(utf8);
+        System.out.printf("%n%d UTF-8 bytes compressed to %d, ratio %.1f%n",
+                utf8.length, compressed.length, (double) utf8.length / compressed.length);
+    }
+
+    @Benchmark
+    public byte[] deflate() {
+        return CompressedText.deflate(utf8);
+    }
+
+    @Benchmark
+    public String inflate() {
+        return CompressedText.inflate(compressed);
+    }
+
+    @Benchmark
+    public String decodeUncompressed() {
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.noteapplication.benchmark;
+
+import com.example.noteapplication.dto.NoteSuggestion;
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.repository.NoteRepository;
+import com.example.noteapplication.service.NoteTitleIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Title suggestions from the in-memory index for one to three typed characters, with and without
+ * recent writes in the overlay. The snapshot size is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class NoteTitleIndexBenchmark {
+    private static final String[] WORDS = {"meeting", "project", "shopping", "budget", "travel", "review", "ideas",
+            "weekly", "notes", "plan", "report", "call", "design", "release", "team", "goals"};
+
+    @Param({"100000", "1000000"})
+    private int notes;
+
+    @Param({"m", "me", "mee"})
+    private String prefix;
+
+    private NoteTitleIndex index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Note> titles = IntStream.range(0, notes)
+                .mapToObj(i -> Note.builder()
+                        .id(new ObjectId().toHexString())
+                        .title(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                                + " " + WORDS[random.nextInt(WORDS.length)] + " " + i)
+                        .build())
+                .toList();
+        NoteRepository repository = (NoteRepository) Proxy.newProxyInstance(
+                NoteRepository.class.getClassLoader(),
+                new Class<?>[]{NoteRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "streamTitles" -> titles.stream();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        index = new NoteTitleIndex(repository, Runnable::run, Integer.MAX_VALUE, registry);
+        index.rebuild();
+        System.out.printf("%n%d titles in %d bytes%n", notes,
+                (long) registry.get("notes.suggest.index.bytes").gauge().value());
+        for (int i = 0; i < 1_000; i++) {
+            index.put(new ObjectId().toHexString(), WORDS[random.nextInt(WORDS.length)] + " recent " + i);
+        }
+    }
+
+    @Benchmark
+    public List<NoteSuggestion> suggest() {
+        return index.suggest(prefix, 10);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.noteapplication.benchmark;
+
+import com.example.noteapplication.service.WordFrequencyCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Word statistics of a note text: the previous regular expression and stream pipeline versus
+ * {@link WordFrequencyCounter}. Run with {@code -prof gc} to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WordStatisticsBenchmark {
+    private static final Pattern NON_WORD_PATTERN = Pattern.compile("[^a-zа-яієїґ\\s]");
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+    private static final String[] VOCABULARY = {
+            "the", "meeting", "project", "budget", "timeline", "team", "deadline", "Review", "Q4", "follow-up",
+            "проєкт", "зустріч", "команда", "бюджет", "Київ", "Україна", "звіт", "план", "щодо", "прогрес"
+    };
+
+    @Param({"1024", "65536", "1048576", "10485760"})
+    private int textLength;
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        // Zipf-like word frequencies with punctuation, seeded for repeatable runs
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder(textLength + 16);
+        while (builder.length() < textLength) {
+            int rank = (int) Math.floor(Math.pow(random.nextDouble(), 3) * VOCABULARY.length);
+            builder.append(VOCABULARY[rank]);
+            if (random.nextInt(20) == 0) {
+                builder.append(random.nextBoolean() ? ". " : ",\n");
+            } else {
+                builder.append(' ');
+            }
+            if (random.nextInt(50) == 0) {
+                builder.append("word").append(random.nextInt(10_000)).append(' ');
+            }
+        }
+        text = builder.substring(0, textLength);
+    }
+
+    @Benchmark
+    public Map<String, Long> regex() {
+        String cleanedText = NON_WORD_PATTERN.matcher(text.toLowerCase()).replaceAll("");
+        if (cleanedText.isEmpty()) {return new LinkedHashMap<>();}
+        String[] words = WHITESPACE_PATTERN.split(cleanedText);
+        return Arrays.stream(words)
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+                .entrySet()
+                .stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (e1, e2) -> e1, LinkedHashMap::new));
+    }
+
+    @Benchmark
+    public Map<String, Long> singlePass() {
+        return WordFrequencyCounter.count(text);
+    }
+}
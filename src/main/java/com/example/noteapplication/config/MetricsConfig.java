@@ -0,0 +1,52 @@
+package com.example.noteapplication.config;
+
+import com.mongodb.event.CommandEvent;
+import com.mongodb.event.CommandStartedEvent;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.mongodb.DefaultMongoCommandTagsProvider;
+import io.micrometer.core.instrument.binder.mongodb.MongoCommandTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tags of the {@code mongodb.driver.commands} timers recorded by the command listener that Spring Boot registers on
+ * every Mongo client.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MongoCommandTagsProvider mongoCommandTagsProvider() {
+        return new LowCardinalityMongoCommandTags(new DefaultMongoCommandTagsProvider());
+    }
+
+    /**
+     * Command, collection, server address and status of a command, without the cluster id the driver generates for
+     * each client, which would start new series on every restart.
+     */
+    static final class LowCardinalityMongoCommandTags implements MongoCommandTagsProvider {
+        private final MongoCommandTagsProvider delegate;
+
+        LowCardinalityMongoCommandTags(MongoCommandTagsProvider delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            // the delegate remembers the collection of each command until it completes
+            delegate.commandStarted(event);
+        }
+
+        @Override
+        public Iterable<Tag> commandTags(CommandEvent event) {
+            Tags tags = Tags.empty();
+            for (Tag tag : delegate.commandTags(event)) {
+                if (!tag.getKey().equals("cluster.id")) {
+                    tags = tags.and(tag);
+                }
+            }
+            return tags;
+        }
+    }
+}
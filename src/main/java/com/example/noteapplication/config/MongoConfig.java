@@ -1,9 +1,135 @@
 package com.example.noteapplication.config;
 
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadConcernLevel;
+import com.mongodb.WriteConcern;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection pool, socket timeouts, wire compression and read/write concern of the Mongo clients, taking precedence
+ * over the options of the connection string. Empty concerns leave the server defaults in place.
+ * <p>
+ * Spring Boot publishes the pool size, checked-out connections and wait-queue length as {@code mongodb.driver.pool.*}
+ * gauges; the time spent waiting for a connection is added as the {@code mongodb.driver.pool.wait} timer.
+ */
 @Configuration
 @EnableMongoRepositories(basePackages = "com.example.noteapplication.repository")
 public class MongoConfig {
+    @Value("${notes.mongo.pool.min-size:0}")
+    private int minPoolSize;
+    @Value("${notes.mongo.pool.max-size:100}")
+    private int maxPoolSize;
+    @Value("${notes.mongo.pool.max-connecting:2}")
+    private int maxConnecting;
+    @Value("${notes.mongo.pool.max-wait:2m}")
+    private Duration maxWait;
+    @Value("${notes.mongo.pool.max-idle-time:0s}")
+    private Duration maxIdleTime;
+    @Value("${notes.mongo.socket.connect-timeout:10s}")
+    private Duration connectTimeout;
+    @Value("${notes.mongo.socket.read-timeout:0s}")
+    private Duration readTimeout;
+    @Value("${notes.mongo.compressors:zstd,zlib}")
+    private List<String> compressors;
+    @Value("${notes.mongo.read-concern:}")
+    private String readConcern;
+    @Value("${notes.mongo.write-concern:}")
+    private String writeConcern;
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientTuning(MeterRegistry meterRegistry) {
+        List<MongoCompressor> wireCompressors = compressors.stream()
+                .filter(name -> !name.isBlank())
+                .map(MongoConfig::compressor)
+                .toList();
+        ConnectionPoolListener waitTimer = new PoolWaitTimer(meterRegistry);
+        return builder -> {
+            builder.applyToConnectionPoolSettings(pool -> pool
+                    .minSize(minPoolSize)
+                    .maxSize(maxPoolSize)
+                    .maxConnecting(maxConnecting)
+                    .maxWaitTime(maxWait.toMillis(), TimeUnit.MILLISECONDS)
+                    .maxConnectionIdleTime(maxIdleTime.toMillis(), TimeUnit.MILLISECONDS)
+                    .addConnectionPoolListener(waitTimer));
+            builder.applyToSocketSettings(socket -> socket
+                    .connectTimeout(connectTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .readTimeout(readTimeout.toMillis(), TimeUnit.MILLISECONDS));
+            builder.compressorList(wireCompressors);
+            if (!readConcern.isBlank()) {
+                builder.readConcern(new ReadConcern(ReadConcernLevel.fromString(readConcern.strip())));
+            }
+            if (!writeConcern.isBlank()) {
+                builder.writeConcern(writeConcern(writeConcern.strip()));
+            }
+        };
+    }
+
+    // zstd and snappy need zstd-jni and snappy-java at runtime, zlib is built into the JDK
+    private static MongoCompressor compressor(String name) {
+        return switch (name.strip().toLowerCase(Locale.ROOT)) {
+            case "zstd" -> MongoCompressor.createZstdCompressor();
+            case "snappy" -> MongoCompressor.createSnappyCompressor();
+            case "zlib" -> MongoCompressor.createZlibCompressor();
+            default -> throw new IllegalArgumentException(
+                    "Unknown Mongo compressor '" + name + "', expected zstd, snappy or zlib");
+        };
+    }
+
+    // a number of acknowledging members or a constant name such as MAJORITY, W1 or JOURNALED
+    private static WriteConcern writeConcern(String value) {
+        if (value.chars().allMatch(Character::isDigit)) {
+            return new WriteConcern(Integer.parseInt(value));
+        }
+        WriteConcern named = WriteConcern.valueOf(value);
+        if (named == null) {
+            throw new IllegalArgumentException("Unknown Mongo write concern '" + value + "'");
+        }
+        return named;
+    }
+
+    /**
+     * Records how long each connection check-out waited, and whether it got a connection.
+     */
+    static final class PoolWaitTimer implements ConnectionPoolListener {
+        private final Timer checkedOut;
+        private final Timer failed;
+
+        PoolWaitTimer(MeterRegistry meterRegistry) {
+            this.checkedOut = timer(meterRegistry, "SUCCESS");
+            this.failed = timer(meterRegistry, "FAILED");
+        }
+
+        private static Timer timer(MeterRegistry meterRegistry, String status) {
+            return Timer.builder("mongodb.driver.pool.wait")
+                    .description("Time spent waiting for a pooled connection")
+                    .tag("status", status)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+            checkedOut.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+            failed.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        }
+    }
 }
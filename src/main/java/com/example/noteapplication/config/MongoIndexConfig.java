@@ -0,0 +1,67 @@
+package com.example.noteapplication.config;
+
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.repository.NoteQueryShape;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Creates the indexes declared on {@link Note} at startup and checks that every {@link NoteQueryShape}
+ * is served by one of the indexes present on the collection.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class MongoIndexConfig {
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    @Value("${notes.indexes.auto-create:true}")
+    private boolean autoCreate;
+    @Value("${notes.indexes.verification:WARN}")
+    private Verification verification;
+
+    public enum Verification {
+        NONE,
+        WARN,
+        FAIL
+    }
+
+    @PostConstruct
+    public void initIndexes() {
+        IndexOperations indexOperations = mongoTemplate.indexOps(Note.class);
+        if (autoCreate) {
+            new MongoPersistentEntityIndexResolver(mappingContext)
+                    .resolveIndexFor(Note.class)
+                    .forEach(index -> log.info("Ensured index {} on notes", indexOperations.createIndex(index)));
+        }
+        if (verification != Verification.NONE) {
+            verifyQueryShapes(indexOperations.getIndexInfo());
+        }
+    }
+
+    private void verifyQueryShapes(List<IndexInfo> indexes) {
+        List<NoteQueryShape> unsupported = Arrays.stream(NoteQueryShape.values())
+                .filter(shape -> indexes.stream().noneMatch(shape::isSupportedBy))
+                .toList();
+        if (unsupported.isEmpty()) {
+            return;
+        }
+        String message = "No index on the notes collection supports query shapes " + unsupported;
+        if (verification == Verification.FAIL) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+}
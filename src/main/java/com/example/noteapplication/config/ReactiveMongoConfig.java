@@ -0,0 +1,43 @@
+package com.example.noteapplication.config;
+
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.repository.NoteTextCompressor;
+import com.example.noteapplication.repository.ReactiveNoteRepository;
+import org.reactivestreams.Publisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveBeforeConvertCallback;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive repositories for the WebFlux execution mode. Startup work such as index management keeps using
+ * the blocking {@link org.springframework.data.mongodb.core.MongoTemplate} in both modes.
+ */
+@Configuration
+@Profile("reactive")
+@EnableReactiveMongoRepositories(basePackageClasses = ReactiveNoteRepository.class)
+public class ReactiveMongoConfig {
+
+    @Bean
+    public ReactiveNoteTextCompression reactiveNoteTextCompression(NoteTextCompressor textCompressor) {
+        return new ReactiveNoteTextCompression(textCompressor);
+    }
+
+    /**
+     * Stores long texts of notes saved through the reactive repositories the way blocking saves do.
+     */
+    static final class ReactiveNoteTextCompression implements ReactiveBeforeConvertCallback<Note> {
+        private final NoteTextCompressor textCompressor;
+
+        ReactiveNoteTextCompression(NoteTextCompressor textCompressor) {
+            this.textCompressor = textCompressor;
+        }
+
+        @Override
+        public Publisher<Note> onBeforeConvert(Note note, String collection) {
+            return Mono.just(textCompressor.onBeforeConvert(note, collection));
+        }
+    }
+}
@@ -1,9 +1,23 @@
 package com.example.noteapplication.controller;
 
+import com.example.noteapplication.dto.CountMode;
+import com.example.noteapplication.dto.NoteBatchResponse;
+import com.example.noteapplication.dto.NoteBulkResponse;
 import com.example.noteapplication.dto.NoteCreateRequest;
+import com.example.noteapplication.dto.NoteCursorPageResponse;
 import com.example.noteapplication.dto.NoteDetailResponse;
+import com.example.noteapplication.dto.NoteFilter;
+import com.example.noteapplication.dto.NoteImportResponse;
 import com.example.noteapplication.dto.NoteListResponse;
+import com.example.noteapplication.dto.NoteSliceResponse;
+import com.example.noteapplication.dto.NoteSuggestion;
+import com.example.noteapplication.dto.NoteTagUpdateRequest;
 import com.example.noteapplication.dto.NoteUpdateRequest;
+import com.example.noteapplication.dto.TagMatch;
+import com.example.noteapplication.exception.InvalidNoteRequestException;
+import com.example.noteapplication.model.NoteRevision;
+import com.example.noteapplication.model.NoteWordStatistics;
+import com.example.noteapplication.service.NoteImporter;
 import com.example.noteapplication.service.NoteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,19 +26,44 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static com.example.noteapplication.controller.NoteValidators.eTag;
+import static com.example.noteapplication.controller.NoteValidators.epochMilli;
+import static com.example.noteapplication.controller.NoteValidators.expectedVersion;
+import static com.example.noteapplication.controller.NoteValidators.listETag;
 
 @RestController
 @RequestMapping("/api/v1/notes")
+@Profile("!reactive")
 @RequiredArgsConstructor
 @io.swagger.v3.oas.annotations.tags.Tag(
         name = "Notes API",
@@ -33,7 +72,13 @@ import java.util.Map;
 )
 public class NoteController {
 
+    private static final List<MediaType> BODY_FORMATS = List.of(MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR, MediaType.parseMediaType("application/x-jackson-smile"));
+
     private final NoteService noteService;
+    private final NoteImporter noteImporter;
+    private final NoteExporter noteExporter;
+    private final ContentNegotiationManager contentNegotiationManager;
 
     @PostMapping
     @Operation(
@@ -155,9 +200,175 @@ public class NoteController {
                             }
                     )
             )
-            @Valid @RequestBody NoteCreateRequest request) {
+            @Valid @RequestBody NoteCreateRequest request,
+
+            @Parameter(hidden = true) NativeWebRequest webRequest) {
         NoteDetailResponse response = noteService.createNote(request);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(formatETag(webRequest, eTag(response.version())))
+                .lastModified(epochMilli(response.updatedDate()))
+                .body(response);
+    }
+
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Create notes in bulk",
+            description = "Creates up to 10000 notes in one request. Every note is validated on its own and valid notes " +
+                    "are written with unordered bulk inserts, so invalid or rejected notes do not stop the others. " +
+                    "The response holds one result per note, in request order."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "All notes created",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = NoteBatchResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "207",
+                    description = "Some notes were rejected, see the per-note results",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = NoteBatchResponse.class),
+                            examples = @ExampleObject(
+                                    name = "Partial failure",
+                                    value = """
+                                    {
+                                      "created": 1,
+                                      "rejected": 1,
+                                      "results": [
+                                        {
+                                          "index": 0,
+                                          "status": "CREATED",
+                                          "id": "507f1f77bcf86cd799439011",
+                                          "errors": null
+                                        },
+                                        {
+                                          "index": 1,
+                                          "status": "INVALID",
+                                          "id": null,
+                                          "errors": {
+                                            "title": "Title is required"
+                                          }
+                                        }
+                                      ]
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Empty or oversized batch, or malformed JSON",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Empty batch",
+                                    value = """
+                                    {
+                                      "status": 400,
+                                      "message": "Batch must contain between 1 and 10000 notes",
+                                      "timestamp": "2024-11-09T14:30:00"
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    public ResponseEntity<NoteBatchResponse> createNotes(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Notes to create, each with the same fields as a single note creation request",
+                    required = true
+            )
+            @RequestBody List<NoteCreateRequest> requests) {
+        NoteBatchResponse response = noteService.createNotes(requests);
+        HttpStatus status = response.rejected() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(response, status);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Import notes from NDJSON",
+            description = "Creates a note from every line of a newline-delimited JSON body, each line having the same " +
+                    "fields as a single note creation request. The body is read incrementally and valid notes are " +
+                    "written in bounded batches before more of the body is read, so imports of any size use constant " +
+                    "memory and are throttled by the database. Invalid lines are rejected on their own; the response " +
+                    "summarizes the import and lists rejected lines by line number."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Every line created a note",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = NoteImportResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "207",
+                    description = "Some lines were rejected, see the rejections",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = NoteImportResponse.class),
+                            examples = @ExampleObject(
+                                    name = "Partial failure",
+                                    value = """
+                                    {
+                                      "lines": 3,
+                                      "accepted": 2,
+                                      "rejected": 1,
+                                      "rejections": [
+                                        {
+                                          "line": 2,
+                                          "status": "INVALID",
+                                          "errors": {
+                                            "title": "Title is required"
+                                          }
+                                        }
+                                      ]
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "413",
+                    description = "Payload Too Large - A line exceeds notes.import.max-line-length characters; " +
+                            "the lines before it were imported",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = """
+                                    {
+                                      "status": 413,
+                                      "message": "Line 3 is longer than 1048576 characters; 2 notes of the lines before it were imported",
+                                      "timestamp": "2024-11-09T14:30:00"
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    public ResponseEntity<NoteImportResponse> importNotes(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "One note creation request per line",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/x-ndjson",
+                            examples = @ExampleObject(
+                                    value = """
+                                    {"title": "First", "text": "First note", "tags": ["BUSINESS"]}
+                                    {"title": "Second", "text": "Second note"}
+                                    """
+                            )
+                    )
+            )
+            InputStream body) throws IOException {
+        NoteImportResponse response = noteImporter.importNotes(body);
+        HttpStatus status = response.rejected() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(response, status);
     }
 
     @PutMapping("/{id}")
@@ -165,7 +376,8 @@ public class NoteController {
             summary = "Update an existing note",
             description = "Updates all fields of an existing note. Title and text are required fields. " +
                     "Tags field is optional - if not provided, existing tags will be preserved. " +
-                    "Note: Once a note has tags, at least one tag must be retained (cannot remove all tags)."
+                    "Note: Once a note has tags, at least one tag must be retained (cannot remove all tags). " +
+                    "Send the ETag of a previous read in If-Match to update only if nobody changed the note since."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -237,6 +449,23 @@ public class NoteController {
                             )
                     )
             ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "Precondition Failed - The note was modified since the ETag sent in If-Match",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Version mismatch",
+                                    value = """
+                                    {
+                                      "status": 412,
+                                      "message": "Note 507f1f77bcf86cd799439011 was modified, expected version 3",
+                                      "timestamp": "2024-11-09T14:30:00"
+                                    }
+                                    """
+                            )
+                    )
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Internal Server Error",
@@ -288,9 +517,65 @@ public class NoteController {
                             }
                     )
             )
-            @Valid @RequestBody NoteUpdateRequest request) {
-        NoteDetailResponse response = noteService.updateNote(id, request);
-        return ResponseEntity.ok(response);
+            @Valid @RequestBody NoteUpdateRequest request,
+
+            @Parameter(
+                    description = "ETag of the note version the update is based on; \"*\" or no header updates unconditionally",
+                    example = "\"3\""
+            )
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+
+            @Parameter(hidden = true) NativeWebRequest webRequest) {
+        NoteDetailResponse response = noteService.updateNote(id, request, expectedVersion(id, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(formatETag(webRequest, eTag(response.version())))
+                .lastModified(epochMilli(response.updatedDate()))
+                .body(response);
+    }
+
+    private static boolean isConditional(NativeWebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    // checked against the request alone first, so a modified note is answered with the validators of the body read
+    // after the check rather than also those of the revision, which may be older
+    private boolean notModified(NativeWebRequest webRequest, NoteRevision revision) {
+        String eTag = formatETag(webRequest, eTag(revision.currentVersion()));
+        long lastModified = epochMilli(revision.lastModified());
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        return (request == null || new ServletWebRequest(request).checkNotModified(eTag, lastModified))
+                && webRequest.checkNotModified(eTag, lastModified);
+    }
+
+    /**
+     * The ETag of the body in the format the message converters will write for this request. Adds
+     * {@code Vary: Accept}, also to 304 responses, so caches keep the formats apart as well.
+     */
+    private String formatETag(NativeWebRequest webRequest, String eTag) {
+        HttpServletResponse response = webRequest.getNativeResponse(HttpServletResponse.class);
+        if (response != null && !response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return eTag(eTag, bodyFormat(webRequest));
+    }
+
+    // the same choice the message converters make: the most specific accepted type among those written
+    private MediaType bodyFormat(NativeWebRequest webRequest) {
+        List<MediaType> candidates = new ArrayList<>();
+        try {
+            for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(webRequest)) {
+                for (MediaType format : BODY_FORMATS) {
+                    if (accepted.isCompatibleWith(format)) {
+                        candidates.add(accepted.isConcrete() ? accepted : format.copyQualityValue(accepted));
+                    }
+                }
+            }
+        } catch (HttpMediaTypeNotAcceptableException ex) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(candidates);
+        return candidates.isEmpty() ? MediaType.APPLICATION_JSON : candidates.getFirst();
     }
 
     @DeleteMapping("/{id}")
@@ -346,14 +631,212 @@ public class NoteController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/batch/delete")
+    @Operation(
+            summary = "Delete notes in bulk",
+            description = "Deletes every note selected by the filter with a single server-side operation " +
+                    "and returns the number of deleted notes."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Notes deleted",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = NoteBulkResponse.class),
+                            examples = @ExampleObject(
+                                    value = """
+                                    {
+                                      "matched": 12,
+                                      "affected": 12
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Filter without ids or tag",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Empty filter",
+                                    value = """
+                                    {
+                                      "status": 400,
+                                      "message": "Filter must contain ids or a tag",
+                                      "timestamp": "2024-11-09T14:30:00"
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    public ResponseEntity<NoteBulkResponse> deleteNotes(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Notes to select: by ids, by tag, or by both (notes matching both)",
+                    required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = NoteFilter.class),
+                            examples = {
+                                    @ExampleObject(
+                                            name = "By ids",
+                                            value = """
+                                            {
+                                              "ids": ["507f1f77bcf86cd799439011", "507f1f77bcf86cd799439012"]
+                                            }
+                                            """
+                                    ),
+                                    @ExampleObject(
+                                            name = "By tag",
+                                            value = """
+                                            {
+                                              "tag": "PERSONAL"
+                                            }
+                                            """
+                                    )
+                            }
+                    )
+            )
+            @RequestBody NoteFilter filter) {
+        return ResponseEntity.ok(noteService.deleteNotes(filter));
+    }
+
+    @PostMapping("/batch/tags/add")
+    @Operation(
+            summary = "Add a tag to notes in bulk",
+            description = "Adds the tag to every note selected by the filter with a single server-side update. " +
+                    "Notes that already have the tag are matched but not affected."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tag added",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = NoteBulkResponse.class),
+                            examples = @ExampleObject(
+                                    value = """
+                                    {
+                                      "matched": 12,
+                                      "affected": 9
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Filter without ids or tag",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Empty filter",
+                                    value = """
+                                    {
+                                      "status": 400,
+                                      "message": "Filter must contain ids or a tag",
+                                      "timestamp": "2024-11-09T14:30:00"
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    public ResponseEntity<NoteBulkResponse> addTag(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Filter selecting the notes and the tag to add",
+                    required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = NoteTagUpdateRequest.class),
+                            examples = @ExampleObject(
+                                    value = """
+                                    {
+                                      "filter": {"tag": "BUSINESS"},
+                                      "tag": "IMPORTANT"
+                                    }
+                                    """
+                            )
+                    )
+            )
+            @Valid @RequestBody NoteTagUpdateRequest request) {
+        return ResponseEntity.ok(noteService.addTag(request.filter(), request.tag()));
+    }
+
+    @PostMapping("/batch/tags/remove")
+    @Operation(
+            summary = "Remove a tag from notes in bulk",
+            description = "Removes the tag from every note selected by the filter with a single server-side update. " +
+                    "Notes without the tag are matched but not affected."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tag removed",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = NoteBulkResponse.class),
+                            examples = @ExampleObject(
+                                    value = """
+                                    {
+                                      "matched": 12,
+                                      "affected": 12
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Filter without ids or tag",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Empty filter",
+                                    value = """
+                                    {
+                                      "status": 400,
+                                      "message": "Filter must contain ids or a tag",
+                                      "timestamp": "2024-11-09T14:30:00"
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    public ResponseEntity<NoteBulkResponse> removeTag(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Filter selecting the notes and the tag to remove",
+                    required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = NoteTagUpdateRequest.class),
+                            examples = @ExampleObject(
+                                    value = """
+                                    {
+                                      "filter": {"tag": "BUSINESS"},
+                                      "tag": "IMPORTANT"
+                                    }
+                                    """
+                            )
+                    )
+            )
+            @Valid @RequestBody NoteTagUpdateRequest request) {
+        return ResponseEntity.ok(noteService.removeTag(request.filter(), request.tag()));
+    }
+
     @GetMapping
     @Operation(
             summary = "List all notes",
             description = "Returns a paginated list of notes showing only basic information (id, title, created date). " +
                     "Notes are sorted by creation date in descending order (newest first). " +
-                    "Supports optional filtering by tag. Use the detailed endpoint to get full note content."
+                    "Supports optional filtering by a tag, or by several tags of which a note must carry all or any. " +
+                    "Use the detailed endpoint to get full note content."
     )
     @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not Modified - The page is unchanged since the ETag sent in If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "200",
                     description = "List of notes retrieved successfully",
@@ -415,7 +898,7 @@ public class NoteController {
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Bad Request - Invalid tag parameter",
+                    description = "Bad Request - Invalid tag parameter, or 'tags' combined with 'tag' or 'count'",
                     content = @Content(
                             mediaType = "application/json",
                             examples = @ExampleObject(
@@ -467,19 +950,488 @@ public class NoteController {
                             allowableValues = {"BUSINESS", "PERSONAL", "IMPORTANT"}
                     )
             )
-            @RequestParam(required = false) com.example.noteapplication.model.Tag tag) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<NoteListResponse> response = noteService.listNotes(pageable, tag);
-        return ResponseEntity.ok(response);
-    }
+            @RequestParam(required = false) com.example.noteapplication.model.Tag tag,
 
-    @GetMapping("/{id}")
+            @Parameter(
+                    description = "Filter notes by several comma-separated tags. Cannot be combined with 'tag'.",
+                    example = "BUSINESS,IMPORTANT"
+            )
+            @RequestParam(required = false) Set<com.example.noteapplication.model.Tag> tags,
+
+            @Parameter(
+                    description = "Whether notes must carry all of the given tags or any of them",
+                    schema = @Schema(
+                            allowableValues = {"ALL", "ANY"},
+                            defaultValue = "ALL"
+                    )
+            )
+            @RequestParam(defaultValue = "ALL") TagMatch match,
+
+            @Parameter(
+                    description = "How totalElements is computed. EXACT counts after the page query, CONCURRENT counts " +
+                            "in parallel with it, ESTIMATED uses collection metadata (or a periodically refreshed " +
+                            "per-tag count) and may be slightly stale. Use the /slice endpoint when no total is needed.",
+                    schema = @Schema(
+                            allowableValues = {"EXACT", "CONCURRENT", "ESTIMATED"},
+                            defaultValue = "EXACT"
+                    )
+            )
+            @RequestParam(required = false) CountMode count,
+
+            @Parameter(hidden = true) NativeWebRequest webRequest) {
+        Pageable pageable = PageRequest.of(page, size);
+        Page<NoteListResponse> response;
+        if (tags != null) {
+            if (tag != null || count != null) {
+                throw new InvalidNoteRequestException("Parameter 'tags' cannot be combined with 'tag' or 'count'");
+            }
+            response = noteService.listNotesByTags(pageable, tags, match);
+        } else {
+            response = count != null
+                    ? noteService.listNotes(pageable, tag, count)
+                    : noteService.listNotes(pageable, tag);
+        }
+        // no Last-Modified: a note removed from the page would not move it forward
+        String eTag = formatETag(webRequest, listETag(response));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(response);
+    }
+
+    @GetMapping("/search")
+    @Operation(
+            summary = "Search notes",
+            description = "Returns a page of notes whose title or text contain the words of the query, most relevant " +
+                    "first. A match in the title weighs more than one in the text; equally relevant notes are sorted " +
+                    "newest first. Words are matched by stem, \"quoted phrases\" must match exactly and -word excludes " +
+                    "notes containing it. Supports optional filtering by tag."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Matching notes retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Search results",
+                                    value = """
+                                    {
+                                      "content": [
+                                        {
+                                          "id": "507f1f77bcf86cd799439011",
+                                          "title": "Meeting Notes",
+                                          "createdDate": "2024-11-09T14:30:00"
+                                        }
+                                      ],
+                                      "pageable": {
+                                        "pageNumber": 0,
+                                        "pageSize": 10
+                                      },
+                                      "totalElements": 1,
+                                      "totalPages": 1,
+                                      "last": true,
+                                      "first": true
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Missing or too long query, or invalid tag parameter",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Blank query",
+                                    value = """
+                                    {
+                                      "status": 400,
+                                      "message": "Search query must contain between 1 and 200 characters",
+                                      "timestamp": "2024-11-09T14:30:00"
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    public ResponseEntity<Page<NoteListResponse>> searchNotes(
+            @Parameter(
+                    description = "Words to search for in note titles and texts",
+                    example = "meeting goals",
+                    required = true
+            )
+            @RequestParam(required = false) String q,
+
+            @Parameter(
+                    description = "Page number (0-based indexing)",
+                    example = "0",
+                    schema = @Schema(minimum = "0", defaultValue = "0")
+            )
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(
+                    description = "Number of items per page",
+                    example = "10",
+                    schema = @Schema(minimum = "1", maximum = "100", defaultValue = "10")
+            )
+            @RequestParam(defaultValue = "10") int size,
+
+            @Parameter(
+                    description = "Search only notes containing this tag.",
+                    example = "BUSINESS",
+                    schema = @Schema(
+                            allowableValues = {"BUSINESS", "PERSONAL", "IMPORTANT"}
+                    )
+            )
+            @RequestParam(required = false) com.example.noteapplication.model.Tag tag) {
+        Page<NoteListResponse> response = noteService.searchNotes(q, PageRequest.of(page, size), tag);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(
+            summary = "Suggest notes by title prefix",
+            description = "Returns notes whose title starts with the prefix, ignoring case, in alphabetical order. " +
+                    "Suggestions are answered from an in-memory title index without querying the database, " +
+                    "so the endpoint can be called on every keystroke."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Suggestions retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Suggestions",
+                                    value = """
+                                    [
+                                      {
+                                        "id": "507f1f77bcf86cd799439011",
+                                        "title": "Meeting Notes"
+                                      },
+                                      {
+                                        "id": "507f1f77bcf86cd799439012",
+                                        "title": "Meeting with the design team"
+                                      }
+                                    ]
+                                    """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Missing prefix or limit out of range",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Limit out of range",
+                                    value = """
+                                    {
+                                      "status": 400,
+                                      "message": "Limit must be between 1 and 50",
+                                      "timestamp": "2024-11-09T14:30:00"
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    public ResponseEntity<List<NoteSuggestion>> suggestNotes(
+            @Parameter(
+                    description = "Beginning of the title",
+                    example = "meet",
+                    required = true
+            )
+            @RequestParam(required = false) String prefix,
+
+            @Parameter(
+                    description = "Maximum number of suggestions",
+                    example = "10",
+                    schema = @Schema(minimum = "1", maximum = "50", defaultValue = "10")
+            )
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(noteService.suggestNotes(prefix, limit));
+    }
+
+    @GetMapping("/slice")
+    @Operation(
+            summary = "List notes without total count",
+            description = "Returns a page of notes sorted by creation date in descending order (newest first) together with " +
+                    "a hasNext flag. Unlike the paginated list no count query is executed, so this is the cheapest way " +
+                    "to page through notes when totals are not displayed. Supports optional filtering by tag."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Slice of notes retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = NoteSliceResponse.class),
+                            examples = @ExampleObject(
+                                    name = "Slice with next page",
+                                    value = """
+                                    {
+                                      "content": [
+                                        {
+                                          "id": "507f1f77bcf86cd799439011",
+                                          "title": "Meeting Notes",
+                                          "createdDate": "2024-11-09T14:30:00"
+                                        }
+                                      ],
+                                      "page": 0,
+                                      "size": 1,
+                                      "hasNext": true
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Invalid tag parameter",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Invalid tag filter",
+                                    value = """
+                                    {
+                                      "status": 400,
+                                      "message": "Invalid value 'URGENT' for field 'tag'. Allowed values are: [BUSINESS, PERSONAL, IMPORTANT]",
+                                      "timestamp": "2024-11-09T14:30:00"
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    public ResponseEntity<NoteSliceResponse> listNotesSlice(
+            @Parameter(
+                    description = "Page number (0-based indexing)",
+                    example = "0",
+                    schema = @Schema(minimum = "0", defaultValue = "0")
+            )
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(
+                    description = "Number of items per page",
+                    example = "10",
+                    schema = @Schema(minimum = "1", maximum = "100", defaultValue = "10")
+            )
+            @RequestParam(defaultValue = "10") int size,
+
+            @Parameter(
+                    description = "Filter notes by tag. Only notes containing this tag will be returned.",
+                    example = "BUSINESS",
+                    schema = @Schema(
+                            allowableValues = {"BUSINESS", "PERSONAL", "IMPORTANT"}
+                    )
+            )
+            @RequestParam(required = false) com.example.noteapplication.model.Tag tag) {
+        NoteSliceResponse response = noteService.listNotesSlice(PageRequest.of(page, size), tag);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/cursor")
+    @Operation(
+            summary = "List notes with cursor pagination",
+            description = "Returns notes sorted by creation date in descending order (newest first) using keyset pagination. " +
+                    "Pass the `nextCursor` of the previous response to get the next page; every page costs the same " +
+                    "regardless of how deep it is. Use `from` to start at the newest note created at or before a given date. " +
+                    "Supports optional filtering by tag."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Page of notes retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = NoteCursorPageResponse.class),
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Page with next cursor",
+                                            value = """
+                                            {
+                                              "content": [
+                                                {
+                                                  "id": "507f1f77bcf86cd799439011",
+                                                  "title": "Meeting Notes",
+                                                  "createdDate": "2024-11-09T14:30:00"
+                                                },
+                                                {
+                                                  "id": "507f1f77bcf86cd799439012",
+                                                  "title": "Project Ideas",
+                                                  "createdDate": "2024-11-08T10:15:00"
+                                                }
+                                              ],
+                                              "nextCursor": "MjAyNC0xMS0wOFQxMDoxNXw1MDdmMWY3N2JjZjg2Y2Q3OTk0MzkwMTI",
+                                              "hasNext": true
+                                            }
+                                            """
+                                    ),
+                                    @ExampleObject(
+                                            name = "Last page",
+                                            value = """
+                                            {
+                                              "content": [],
+                                              "nextCursor": null,
+                                              "hasNext": false
+                                            }
+                                            """
+                                    )
+                            }
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Invalid cursor, date or page size",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Invalid cursor",
+                                    value = """
+                                    {
+                                      "status": 400,
+                                      "message": "Invalid cursor: abc",
+                                      "timestamp": "2024-11-09T14:30:00"
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    public ResponseEntity<NoteCursorPageResponse> listNotesByCursor(
+            @Parameter(
+                    description = "Opaque cursor returned as `nextCursor` by the previous page. Omit for the first page."
+            )
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(
+                    description = "Start from the newest note created at or before this date. Cannot be combined with cursor.",
+                    example = "2024-11-09T14:30:00"
+            )
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+
+            @Parameter(
+                    description = "Number of items per page",
+                    example = "10",
+                    schema = @Schema(minimum = "1", maximum = "100", defaultValue = "10")
+            )
+            @RequestParam(defaultValue = "10") int size,
+
+            @Parameter(
+                    description = "Filter notes by tag. Only notes containing this tag will be returned.",
+                    example = "BUSINESS",
+                    schema = @Schema(
+                            allowableValues = {"BUSINESS", "PERSONAL", "IMPORTANT"}
+                    )
+            )
+            @RequestParam(required = false) com.example.noteapplication.model.Tag tag) {
+        if (cursor != null && from != null) {
+            throw new InvalidNoteRequestException("Parameters 'cursor' and 'from' cannot be combined");
+        }
+        NoteCursorPageResponse response = from != null
+                ? noteService.listNotesFrom(from, size, tag)
+                : noteService.listNotes(cursor, size, tag);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Export notes as NDJSON",
+            description = "Streams every note (id, title, createdDate, updatedDate, text and tags) as newline-delimited JSON, " +
+                    "newest first, straight from a single database cursor, so the export is consistent with the moment " +
+                    "it started for notes that are not modified meanwhile and memory use does not grow with the number of notes. " +
+                    "Supports optional filtering by tag and by a creation date range `[from, to)`."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Notes streamed one JSON object per line",
+                    content = @Content(
+                            mediaType = "application/x-ndjson",
+                            examples = @ExampleObject(
+                                    name = "Two notes",
+                                    value = """
+                                    {"id":"507f1f77bcf86cd799439011","title":"Meeting Notes","createdDate":"2024-11-09T14:30:00","updatedDate":"2024-11-09T14:30:00","text":"Discussed Q4 goals","tags":["BUSINESS"]}
+                                    {"id":"507f1f77bcf86cd799439012","title":"Project Ideas","createdDate":"2024-11-08T10:15:00","updatedDate":"2024-11-08T10:15:00","text":"Build a notes app","tags":[]}
+                                    """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Invalid tag or date range",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Empty date range",
+                                    value = """
+                                    {
+                                      "status": 400,
+                                      "message": "Parameter 'from' must be before 'to'",
+                                      "timestamp": "2024-11-09T14:30:00"
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Service Unavailable - As many exports as allowed are already running",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = """
+                                    {
+                                      "status": 503,
+                                      "message": "Too many exports in progress, retry later",
+                                      "timestamp": "2024-11-09T14:30:00"
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    public ResponseEntity<ResponseBodyEmitter> exportNotes(
+            @Parameter(
+                    description = "Export only notes containing this tag.",
+                    example = "BUSINESS",
+                    schema = @Schema(
+                            allowableValues = {"BUSINESS", "PERSONAL", "IMPORTANT"}
+                    )
+            )
+            @RequestParam(required = false) com.example.noteapplication.model.Tag tag,
+
+            @Parameter(
+                    description = "Export only notes created at or after this date.",
+                    example = "2024-11-01T00:00:00"
+            )
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+
+            @Parameter(
+                    description = "Export only notes created before this date.",
+                    example = "2024-12-01T00:00:00"
+            )
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        // opened here so that invalid parameters are still answered with 400 before the response is committed
+        Stream<NoteDetailResponse> notes = noteService.exportNotes(tag, from, to);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(noteExporter.export(notes));
+    }
+
+    @GetMapping("/{id}")
     @Operation(
             summary = "Get note details by ID",
             description = "Retrieves complete note information including the full text content and all tags. " +
                     "Use this endpoint to get the complete note details after selecting from the paginated list."
     )
     @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not Modified - The note is unchanged since the ETag in If-None-Match (or the If-Modified-Since date)"
+            ),
             @ApiResponse(
                     responseCode = "200",
                     description = "Note found and returned successfully",
@@ -552,9 +1504,110 @@ public class NoteController {
                     required = true,
                     example = "507f1f77bcf86cd799439011"
             )
-            @PathVariable String id) {
+            @PathVariable String id,
+
+            @Parameter(hidden = true) NativeWebRequest webRequest) {
+        // revalidation only needs the version and dates, not the note text
+        if (isConditional(webRequest) && notModified(webRequest, noteService.getNoteRevision(id))) {
+            return null;
+        }
         NoteDetailResponse response = noteService.getNoteById(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(formatETag(webRequest, eTag(response.version())))
+                .lastModified(epochMilli(response.updatedDate()))
+                .body(response);
+    }
+
+    @GetMapping("/stats")
+    @Operation(
+            summary = "Get word frequency statistics of all notes",
+            description = "Returns the most frequent words over all notes, or over all notes with the given tag, " +
+                    "sorted by frequency in descending order. Words are counted as for a single note. " +
+                    "Results are computed in parallel and cached until the next change to any note."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Statistics calculated successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Most frequent words",
+                                    value = """
+                                    {
+                                      "meeting": 42,
+                                      "project": 31,
+                                      "review": 17
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Limit out of range or invalid tag parameter",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Limit out of range",
+                                    value = """
+                                    {
+                                      "status": 400,
+                                      "message": "Limit must be between 1 and 1000",
+                                      "timestamp": "2024-11-09T14:30:00"
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    public ResponseEntity<Map<String, Long>> getCorpusWordStatistics(
+            @Parameter(
+                    description = "Count only notes containing this tag.",
+                    example = "BUSINESS",
+                    schema = @Schema(
+                            allowableValues = {"BUSINESS", "PERSONAL", "IMPORTANT"}
+                    )
+            )
+            @RequestParam(required = false) com.example.noteapplication.model.Tag tag,
+
+            @Parameter(
+                    description = "Maximum number of words",
+                    example = "20",
+                    schema = @Schema(minimum = "1", maximum = "1000", defaultValue = "20")
+            )
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(noteService.getWordStatistics(tag, limit));
+    }
+
+    @GetMapping("/tags/counts")
+    @Operation(
+            summary = "Get the number of notes per tag",
+            description = "Returns how many notes carry each tag, including tags no note carries. " +
+                    "Counts are maintained on every write instead of counting notes. They are reconciled with the " +
+                    "stored notes after bulk operations and periodically, so they can briefly lag behind concurrent writes."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Counts retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Notes per tag",
+                                    value = """
+                                    {
+                                      "BUSINESS": 42,
+                                      "PERSONAL": 17,
+                                      "IMPORTANT": 0
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    public ResponseEntity<Map<com.example.noteapplication.model.Tag, Long>> getTagCounts() {
+        return ResponseEntity.ok(noteService.getTagCounts());
     }
 
     @GetMapping("/{id}/stats")
@@ -566,6 +1619,10 @@ public class NoteController {
                     "Special characters, numbers, and punctuation are ignored."
     )
     @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not Modified - The note is unchanged since the ETag in If-None-Match (or the If-Modified-Since date)"
+            ),
             @ApiResponse(
                     responseCode = "200",
                     description = "Statistics calculated successfully",
@@ -645,8 +1702,18 @@ public class NoteController {
                     required = true,
                     example = "507f1f77bcf86cd799439011"
             )
-            @PathVariable String id) {
-        Map<String, Long> stats = noteService.getWordStatistics(id);
-        return ResponseEntity.ok(stats);
+            @PathVariable String id,
+
+            @Parameter(hidden = true) NativeWebRequest webRequest) {
+        // statistics change only with the text, which always increments the version
+        if (isConditional(webRequest) && notModified(webRequest, noteService.getNoteRevision(id))) {
+            return null;
+        }
+        NoteWordStatistics stats = noteService.getWordStatistics(id);
+        NoteRevision revision = stats.revision();
+        return ResponseEntity.ok()
+                .eTag(formatETag(webRequest, eTag(revision.currentVersion())))
+                .lastModified(epochMilli(revision.lastModified()))
+                .body(stats.wordStatistics());
     }
 }
\ No newline at end of file
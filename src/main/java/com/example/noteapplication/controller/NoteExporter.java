@@ -0,0 +1,110 @@
+package com.example.noteapplication.controller;
+
+import com.example.noteapplication.dto.NoteDetailResponse;
+import com.example.noteapplication.exception.NoteExportBusyException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Writes NDJSON exports on a pool of its own, so long exports never hold threads of the application task executor
+ * that counts, tag reconciliation and title index rebuilds run on. At most {@code notes.export.max-concurrent}
+ * exports run at once; further ones are rejected before the response starts. Each export is cut off after
+ * {@code notes.export.timeout}, a client that goes away fails the next write. Both release the database cursor;
+ * any other failure completes the response with an error.
+ */
+@Slf4j
+@Component
+class NoteExporter {
+    private static final int FLUSH_SIZE = 64 * 1024;
+
+    private final ObjectWriter writer;
+    private final ThreadPoolExecutor pool;
+    private final Duration timeout;
+
+    NoteExporter(ObjectMapper objectMapper,
+                 @Value("${notes.export.max-concurrent:4}") int maxConcurrent,
+                 @Value("${notes.export.timeout:1h}") Duration timeout) {
+        this.writer = objectMapper.writerFor(NoteDetailResponse.class);
+        this.pool = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), new CustomizableThreadFactory("note-export-"));
+        this.timeout = timeout;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Starts writing {@code notes} and closes them once written, failed or timed out.
+     *
+     * @throws NoteExportBusyException if all export threads are busy; {@code notes} is closed
+     */
+    ResponseBodyEmitter export(Stream<NoteDetailResponse> notes) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeout.toMillis());
+        try {
+            pool.execute(() -> write(notes, emitter));
+        } catch (RejectedExecutionException ex) {
+            notes.close();
+            throw new NoteExportBusyException("Too many exports in progress, retry later", ex);
+        } catch (RuntimeException ex) {
+            notes.close();
+            throw ex;
+        }
+        return emitter;
+    }
+
+    private void write(Stream<NoteDetailResponse> notes, ResponseBodyEmitter emitter) {
+        try (notes) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(FLUSH_SIZE + 8192);
+            Iterator<NoteDetailResponse> iterator = notes.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(buffer, iterator.next());
+                buffer.write('\n');
+                if (buffer.size() >= FLUSH_SIZE) {
+                    if (!send(emitter, buffer)) {
+                        return;
+                    }
+                    buffer.reset();
+                }
+            }
+            if (buffer.size() > 0 && !send(emitter, buffer)) {
+                return;
+            }
+            emitter.complete();
+        } catch (IOException | RuntimeException ex) {
+            emitter.completeWithError(ex);
+        }
+    }
+
+    /**
+     * Sends the buffered lines, {@code false} once the response can no longer be written to.
+     */
+    private boolean send(ResponseBodyEmitter emitter, ByteArrayOutputStream buffer) {
+        try {
+            emitter.send(buffer.toByteArray(), MediaType.APPLICATION_NDJSON);
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            // the client went away or the export timed out and was completed by the container
+            log.debug("Note export aborted: {}", ex.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.noteapplication.controller;
+
+import com.example.noteapplication.dto.NoteListResponse;
+import com.example.noteapplication.exception.NoteVersionMismatchException;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * ETag and Last-Modified values shared by the servlet and reactive note controllers.
+ */
+final class NoteValidators {
+    private NoteValidators() {
+    }
+
+    static String eTag(long version) {
+        return String.valueOf(version);
+    }
+
+    // bodies differ per format, so CBOR and Smile bodies get their own tags: "3", "3+cbor", "3+smile"
+    static String eTag(String eTag, MediaType format) {
+        if (MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(format)) {
+            return eTag + "+cbor";
+        }
+        if (format.getSubtype().equals("x-jackson-smile")) {
+            return eTag + "+smile";
+        }
+        return eTag;
+    }
+
+    // LocalDateTime values are stored and read back in the system time zone
+    static long epochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // strong ETag over everything serialized for the page, so any visible change yields a new tag
+    static String listETag(Page<NoteListResponse> page) {
+        StringBuilder content = new StringBuilder()
+                .append(page.getNumber()).append('|')
+                .append(page.getSize()).append('|')
+                .append(page.getTotalElements());
+        for (NoteListResponse note : page.getContent()) {
+            content.append('|').append(note.id())
+                    .append('|').append(note.title())
+                    .append('|').append(note.createdDate());
+        }
+        return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ETags are the quoted note version, an unparseable one can never match
+    static Long expectedVersion(String id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        // the version is the same whatever format it was read in
+        int format = tag.indexOf('+');
+        if (format >= 0) {
+            tag = tag.substring(0, format);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException ex) {
+            throw new NoteVersionMismatchException("Note " + id + " does not match " + ifMatch);
+        }
+    }
+}
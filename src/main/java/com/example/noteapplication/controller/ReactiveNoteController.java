@@ -0,0 +1,130 @@
+package com.example.noteapplication.controller;
+
+import com.example.noteapplication.dto.NoteCreateRequest;
+import com.example.noteapplication.dto.NoteDetailResponse;
+import com.example.noteapplication.dto.NoteListResponse;
+import com.example.noteapplication.dto.NoteUpdateRequest;
+import com.example.noteapplication.dto.TagMatch;
+import com.example.noteapplication.exception.InvalidNoteRequestException;
+import com.example.noteapplication.model.NoteRevision;
+import com.example.noteapplication.service.ReactiveNoteService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+import static com.example.noteapplication.controller.NoteValidators.eTag;
+import static com.example.noteapplication.controller.NoteValidators.epochMilli;
+import static com.example.noteapplication.controller.NoteValidators.expectedVersion;
+import static com.example.noteapplication.controller.NoteValidators.listETag;
+
+/**
+ * WebFlux variant of {@link NoteController} for the {@code reactive} profile. It serves a subset of the servlet
+ * contract: creating a note, reading and deleting one, updating it with {@code If-Match}, listing notes by page
+ * filtered by {@code tag} or by {@code tags} and {@code match}, and the word statistics of a note, with the same
+ * {@code ETag}/{@code Last-Modified} validators and {@code 304} answers. Lists are always counted exactly, concurrently
+ * with the page query, so {@code count} is not accepted, and bodies are JSON only.
+ * <p>
+ * Not served: batch creation and import, batch delete and tag updates, search and suggestions, slice, cursor and
+ * export listings, corpus word statistics and tag counts. See {@link NoteController} (or Swagger UI in servlet mode)
+ * for the documentation of each endpoint.
+ */
+@RestController
+@RequestMapping("/api/v1/notes")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveNoteController {
+
+    private final ReactiveNoteService noteService;
+
+    @PostMapping
+    public Mono<ResponseEntity<NoteDetailResponse>> createNote(@Valid @RequestBody NoteCreateRequest request) {
+        return noteService.createNote(request)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED)
+                        .eTag(eTag(response.version()))
+                        .lastModified(epochMilli(response.updatedDate()))
+                        .body(response));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<NoteDetailResponse>> updateNote(
+            @PathVariable String id,
+            @Valid @RequestBody NoteUpdateRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.defer(() -> noteService.updateNote(id, request, expectedVersion(id, ifMatch)))
+                .map(response -> ResponseEntity.ok()
+                        .eTag(eTag(response.version()))
+                        .lastModified(epochMilli(response.updatedDate()))
+                        .body(response));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteNote(@PathVariable String id) {
+        return noteService.deleteNote(id)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Page<NoteListResponse>>> listNotes(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) com.example.noteapplication.model.Tag tag,
+            @RequestParam(required = false) Set<com.example.noteapplication.model.Tag> tags,
+            @RequestParam(defaultValue = "ALL") TagMatch match,
+            @RequestParam(required = false) String count,
+            ServerWebExchange exchange) {
+        if (count != null) {
+            throw new InvalidNoteRequestException("Parameter 'count' is not supported in reactive mode");
+        }
+        if (tags != null && tag != null) {
+            throw new InvalidNoteRequestException("Parameter 'tags' cannot be combined with 'tag'");
+        }
+        Pageable pageable = PageRequest.of(page, size);
+        return (tags != null ? noteService.listNotesByTags(pageable, tags, match) : noteService.listNotes(pageable, tag))
+                .mapNotNull(response -> {
+                    String eTag = listETag(response);
+                    return exchange.checkNotModified(eTag) ? null : ResponseEntity.ok().eTag(eTag).body(response);
+                });
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<NoteDetailResponse>> getNoteById(@PathVariable String id, ServerWebExchange exchange) {
+        return noteService.getNoteById(id)
+                .mapNotNull(response -> {
+                    String eTag = eTag(response.version());
+                    long lastModified = epochMilli(response.updatedDate());
+                    if (exchange.checkNotModified(eTag, Instant.ofEpochMilli(lastModified))) {
+                        return null;
+                    }
+                    return ResponseEntity.ok().eTag(eTag).lastModified(lastModified).body(response);
+                });
+    }
+
+    @GetMapping("/{id}/stats")
+    public Mono<ResponseEntity<Map<String, Long>>> getWordStatistics(@PathVariable String id,
+                                                                     ServerWebExchange exchange) {
+        // statistics change only with the text, which always increments the version
+        return noteService.getWordStatistics(id)
+                .mapNotNull(stats -> {
+                    NoteRevision revision = stats.revision();
+                    String eTag = eTag(revision.currentVersion());
+                    long lastModified = epochMilli(revision.lastModified());
+                    if (exchange.checkNotModified(eTag, Instant.ofEpochMilli(lastModified))) {
+                        return null;
+                    }
+                    return ResponseEntity.ok().eTag(eTag).lastModified(lastModified).body(stats.wordStatistics());
+                });
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.noteapplication.controller;
+
+import com.example.noteapplication.dto.TagMatch;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Reads the {@code match} request parameter regardless of case, so {@code match=any} selects {@link TagMatch#ANY}.
+ */
+@Component
+class TagMatchConverter implements Converter<String, TagMatch> {
+    @Override
+    public TagMatch convert(String source) {
+        return TagMatch.valueOf(source.trim().toUpperCase(Locale.ROOT));
+    }
+}
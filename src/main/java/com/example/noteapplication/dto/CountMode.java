@@ -0,0 +1,13 @@
+package com.example.noteapplication.dto;
+
+/**
+ * How the total of a paginated listing is obtained.
+ */
+public enum CountMode {
+    /** Count query runs after the page query. */
+    EXACT,
+    /** Count query runs in parallel with the page query. */
+    CONCURRENT,
+    /** Collection metadata without a tag, a periodically refreshed count per tag otherwise. */
+    ESTIMATED
+}
@@ -0,0 +1,37 @@
+package com.example.noteapplication.dto;
+
+import java.util.Map;
+
+/**
+ * Outcome of one note of a batch, {@code index} being its position in the request.
+ */
+public record NoteBatchItemResult(
+        int index,
+        Status status,
+        String id,
+        Map<String, String> errors
+) {
+    public enum Status {
+        CREATED,
+        /**
+         * Rejected by validation, nothing was written.
+         */
+        INVALID,
+        /**
+         * Passed validation but the database rejected the insert.
+         */
+        FAILED
+    }
+
+    public static NoteBatchItemResult created(int index, String id) {
+        return new NoteBatchItemResult(index, Status.CREATED, id, null);
+    }
+
+    public static NoteBatchItemResult invalid(int index, Map<String, String> errors) {
+        return new NoteBatchItemResult(index, Status.INVALID, null, errors);
+    }
+
+    public static NoteBatchItemResult failed(int index, String id, String message) {
+        return new NoteBatchItemResult(index, Status.FAILED, id, Map.of("write", message));
+    }
+}
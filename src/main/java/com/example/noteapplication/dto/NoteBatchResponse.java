@@ -0,0 +1,16 @@
+package com.example.noteapplication.dto;
+
+import java.util.List;
+
+public record NoteBatchResponse(
+        int created,
+        int rejected,
+        List<NoteBatchItemResult> results
+) {
+    public static NoteBatchResponse of(List<NoteBatchItemResult> results) {
+        int created = (int) results.stream()
+                .filter(result -> result.status() == NoteBatchItemResult.Status.CREATED)
+                .count();
+        return new NoteBatchResponse(created, results.size() - created, results);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.noteapplication.dto;
+
+/**
+ * Counts reported by a bulk operation: {@code matched} notes selected by the filter and {@code affected}
+ * notes actually deleted or changed (a note that already had the added tag is matched but not affected).
+ */
+public record NoteBulkResponse(
+        long matched,
+        long affected
+) {
+}
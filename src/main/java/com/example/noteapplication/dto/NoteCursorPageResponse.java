@@ -0,0 +1,10 @@
+package com.example.noteapplication.dto;
+
+import java.util.List;
+
+public record NoteCursorPageResponse(
+        List<NoteListResponse> content,
+        String nextCursor,
+        boolean hasNext
+) {
+}
@@ -2,6 +2,7 @@ package com.example.noteapplication.dto;
 
 
 import com.example.noteapplication.model.Tag;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.time.LocalDateTime;
 import java.util.Set;
@@ -10,7 +11,11 @@ public record NoteDetailResponse(
         String id,
         String title,
         LocalDateTime createdDate,
+        LocalDateTime updatedDate,
         String text,
-        Set<Tag> tags
+        Set<Tag> tags,
+        // sent as the ETag header rather than in the body
+        @JsonIgnore
+        long version
 ) {
 }
@@ -0,0 +1,15 @@
+package com.example.noteapplication.dto;
+
+import com.example.noteapplication.model.Tag;
+
+import java.util.List;
+
+/**
+ * Selects the notes of a bulk operation: notes with one of {@code ids}, notes with {@code tag},
+ * or the notes matching both when both are given. At least one of them is required.
+ */
+public record NoteFilter(
+        List<String> ids,
+        Tag tag
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.noteapplication.dto;
+
+import java.util.Map;
+
+/**
+ * A line of an import that did not create a note, {@code line} being its 1-based line number.
+ */
+public record NoteImportRejection(
+        long line,
+        NoteBatchItemResult.Status status,
+        Map<String, String> errors
+) {
+}
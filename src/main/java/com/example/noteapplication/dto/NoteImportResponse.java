@@ -0,0 +1,15 @@
+package com.example.noteapplication.dto;
+
+import java.util.List;
+
+/**
+ * Summary of an import. Every non-blank line that is not rejected created a note; only the first
+ * {@code notes.import.max-reported-rejections} rejections are listed, in line order.
+ */
+public record NoteImportResponse(
+        long lines,
+        long accepted,
+        long rejected,
+        List<NoteImportRejection> rejections
+) {
+}
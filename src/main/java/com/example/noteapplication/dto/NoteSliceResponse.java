@@ -0,0 +1,11 @@
+package com.example.noteapplication.dto;
+
+import java.util.List;
+
+public record NoteSliceResponse(
+        List<NoteListResponse> content,
+        int page,
+        int size,
+        boolean hasNext
+) {
+}
@@ -0,0 +1,7 @@
+package com.example.noteapplication.dto;
+
+public record NoteSuggestion(
+        String id,
+        String title
+) {
+}
@@ -0,0 +1,12 @@
+package com.example.noteapplication.dto;
+
+import com.example.noteapplication.model.Tag;
+import jakarta.validation.constraints.NotNull;
+
+public record NoteTagUpdateRequest(
+        @NotNull(message = "Filter is required")
+        NoteFilter filter,
+        @NotNull(message = "Tag is required")
+        Tag tag
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.noteapplication.dto;
+
+/**
+ * Which notes a filter by several tags selects.
+ */
+public enum TagMatch {
+    /** Notes carrying every one of the tags. */
+    ALL,
+    /** Notes carrying at least one of the tags. */
+    ANY
+}
@@ -0,0 +1,7 @@
+package com.example.noteapplication.exception;
+
+public class InvalidNoteRequestException extends RuntimeException {
+    public InvalidNoteRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.noteapplication.exception;
+
+public class NoteExportBusyException extends RuntimeException {
+    public NoteExportBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.noteapplication.exception;
+
+public class NoteImportLineTooLongException extends RuntimeException {
+    public NoteImportLineTooLongException(String message) {
+        super(message);
+    }
+}
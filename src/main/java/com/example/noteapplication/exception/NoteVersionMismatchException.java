@@ -0,0 +1,7 @@
+package com.example.noteapplication.exception;
+
+public class NoteVersionMismatchException extends RuntimeException {
+    public NoteVersionMismatchException(String message) {
+        super(message);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.noteapplication.mapper;
 import com.example.noteapplication.dto.NoteDetailResponse;
 import com.example.noteapplication.dto.NoteListResponse;
 import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.NoteSummary;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -12,8 +13,11 @@ public class NoteMapper {
                 note.getId(),
                 note.getTitle(),
                 note.getCreatedDate(),
-                note.getText(),
-                note.getTags()
+                note.getUpdatedDate() != null ? note.getUpdatedDate() : note.getCreatedDate(),
+                note.readText(),
+                note.getTags(),
+                // notes stored before versioning was introduced count as version 0
+                note.getVersion() != null ? note.getVersion() : 0
         );
     }
 
@@ -24,4 +28,12 @@ public class NoteMapper {
                 note.getCreatedDate()
         );
     }
+
+    public NoteListResponse mapToListResponse(NoteSummary summary) {
+        return new NoteListResponse(
+                summary.id(),
+                summary.title(),
+                summary.createdDate()
+        );
+    }
 }
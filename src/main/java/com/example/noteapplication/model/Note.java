@@ -5,12 +5,20 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Set;
 
 @Document(collection = "notes")
+@CompoundIndex(name = "tags_createdDate_id", def = "{'tags': 1, 'createdDate': -1, '_id': -1}")
+// bit tests cannot narrow index bounds, so the mask follows the sort keys and is tested on index keys during the walk;
+// as a prefix of it, the sort keys alone serve the unfiltered listings and keyset pages
+@CompoundIndex(name = "createdDate_id_tagMask", def = "{'createdDate': -1, '_id': -1, 'tagMask': 1}")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,8 +26,30 @@ import java.util.Set;
 public class Note {
     @Id
     private String id;
+    // a match in the title ranks a note above the same match in its text
+    @TextIndexed(weight = 3)
     private String title;
+    // null while the text is stored compressed
+    @TextIndexed
     private String text;
+    // CompressedText#deflate of the UTF-8 text, for texts of at least notes.text.compression.threshold characters
+    private byte[] compressedText;
+    // distinct words of a compressed text, searched in its place; null for texts stored as is
+    @TextIndexed
+    private Set<String> searchTerms;
     private LocalDateTime createdDate;
+    private LocalDateTime updatedDate;
     private Set<Tag> tags;
+    // Tag#mask of tags, kept in sync on every write that changes them
+    private Long tagMask;
+    private Map<String, Long> wordStatistics;
+    @Version
+    private Long version;
+
+    /**
+     * The text, inflated if the note is stored compressed. Only call where the text is needed, every call inflates.
+     */
+    public String readText() {
+        return compressedText != null ? CompressedText.inflate(compressedText) : text;
+    }
 }
\ No newline at end of file
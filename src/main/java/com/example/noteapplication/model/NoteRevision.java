@@ -0,0 +1,21 @@
+package com.example.noteapplication.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Validators of a note for conditional requests, read without the note's text and word statistics.
+ */
+public record NoteRevision(String id, Long version, LocalDateTime createdDate, LocalDateTime updatedDate) {
+    public static NoteRevision of(Note note) {
+        return new NoteRevision(note.getId(), note.getVersion(), note.getCreatedDate(), note.getUpdatedDate());
+    }
+
+    // notes stored before versioning have no version, notes never updated since have no updatedDate
+    public long currentVersion() {
+        return version != null ? version : 0;
+    }
+
+    public LocalDateTime lastModified() {
+        return updatedDate != null ? updatedDate : createdDate;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.noteapplication.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO projection of {@link Note} used by list queries, only these fields are fetched from MongoDB.
+ */
+public record NoteSummary(
+        String id,
+        String title,
+        LocalDateTime createdDate
+) {
+}
@@ -0,0 +1,26 @@
+package com.example.noteapplication.model;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO projection of {@link Note} holding only the word statistics precomputed on write, along with the validators
+ * of the same document, so a response can be tagged with the revision its statistics belong to.
+ * {@code wordStatistics} is {@code null} for notes written before statistics were stored.
+ */
+public record NoteWordStatistics(
+        String id,
+        Map<String, Long> wordStatistics,
+        Long version,
+        LocalDateTime createdDate,
+        LocalDateTime updatedDate
+) {
+    public static NoteWordStatistics of(Note note, Map<String, Long> wordStatistics) {
+        return new NoteWordStatistics(note.getId(), wordStatistics, note.getVersion(), note.getCreatedDate(),
+                note.getUpdatedDate());
+    }
+
+    public NoteRevision revision() {
+        return new NoteRevision(id, version, createdDate, updatedDate);
+    }
+}
@@ -1,8 +1,27 @@
 package com.example.noteapplication.model;
 
+import java.util.Collection;
 
+/**
+ * Note tags. Each tag is stored as a bit of {@link Note#getTagMask()} at the position of its ordinal, so new tags
+ * must be appended and existing ones never reordered or removed.
+ */
 public enum Tag {
     BUSINESS,
     PERSONAL,
-    IMPORTANT
-}
\ No newline at end of file
+    IMPORTANT;
+
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    public static long mask(Collection<Tag> tags) {
+        long mask = 0;
+        if (tags != null) {
+            for (Tag tag : tags) {
+                mask |= tag.bit();
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.noteapplication.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Maintained number of notes carrying a tag, one document per {@link Tag}.
+ */
+@Document(collection = "note_tag_counts")
+public record TagCount(@Id Tag tag, long count) {
+}
@@ -0,0 +1,34 @@
+package com.example.noteapplication.repository;
+
+import com.example.noteapplication.exception.InvalidNoteRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the createdDate-desc, _id-desc ordering of notes.
+ * Clients only ever see the opaque token produced by {@link #encode()}.
+ */
+public record NoteCursor(LocalDateTime createdDate, String id) {
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = createdDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static NoteCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new InvalidNoteRequestException("Invalid cursor: " + token);
+            }
+            return new NoteCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidNoteRequestException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.noteapplication.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+
+import java.util.List;
+
+/**
+ * Query shapes issued by {@link NoteRepository}: equality-matched fields followed by the sort.
+ * A shape is served by an index whose keys start with the equality fields and then the sort keys,
+ * in the same or fully reversed direction, so MongoDB neither scans the collection nor sorts in memory.
+ * Fields tested by predicates that cannot bound a scan, such as bit tests, must follow the sort keys so that they
+ * are filtered on index keys without fetching the documents.
+ * A text search shape is served by the text index covering all of its searched fields; its matches are
+ * ranked by score, which no index can provide.
+ */
+public enum NoteQueryShape {
+    LIST_BY_CREATED_DATE(List.of(), Sort.by(Sort.Order.desc("createdDate"))),
+    LIST_BY_TAG(List.of("tags"), Sort.by(Sort.Order.desc("createdDate"))),
+    KEYSET_BY_CREATED_DATE(List.of(), Sort.by(Sort.Order.desc("createdDate"), Sort.Order.desc("_id"))),
+    KEYSET_BY_TAG(List.of("tags"), Sort.by(Sort.Order.desc("createdDate"), Sort.Order.desc("_id"))),
+    LIST_BY_TAG_MASK(List.of(), Sort.by(Sort.Order.desc("createdDate"), Sort.Order.desc("_id")), List.of("tagMask")),
+    TEXT_SEARCH(List.of("title", "text", "searchTerms"));
+
+    private final List<String> equalityFields;
+    private final Sort sort;
+    private final List<String> filterFields;
+    private final List<String> textFields;
+
+    NoteQueryShape(List<String> equalityFields, Sort sort) {
+        this(equalityFields, sort, List.of());
+    }
+
+    NoteQueryShape(List<String> equalityFields, Sort sort, List<String> filterFields) {
+        this.equalityFields = equalityFields;
+        this.sort = sort;
+        this.filterFields = filterFields;
+        this.textFields = List.of();
+    }
+
+    NoteQueryShape(List<String> textFields) {
+        this.equalityFields = List.of();
+        this.sort = Sort.unsorted();
+        this.filterFields = List.of();
+        this.textFields = textFields;
+    }
+
+    public boolean isSupportedBy(IndexInfo index) {
+        List<IndexField> fields = index.getIndexFields();
+        if (!textFields.isEmpty()) {
+            List<String> indexed = fields.stream().filter(IndexField::isText).map(IndexField::getKey).toList();
+            return indexed.containsAll(textFields);
+        }
+        List<Sort.Order> orders = sort.toList();
+        if (fields.size() < equalityFields.size() + orders.size() + filterFields.size()) {
+            return false;
+        }
+        for (int i = 0; i < equalityFields.size(); i++) {
+            if (!equalityFields.get(i).equals(fields.get(i).getKey())) {
+                return false;
+            }
+        }
+        Boolean reversed = null;
+        for (int i = 0; i < orders.size(); i++) {
+            IndexField field = fields.get(equalityFields.size() + i);
+            Sort.Order order = orders.get(i);
+            if (!order.getProperty().equals(field.getKey()) || field.getDirection() == null) {
+                return false;
+            }
+            boolean sameDirection = field.getDirection() == order.getDirection();
+            if (reversed == null) {
+                reversed = !sameDirection;
+            } else if (reversed == sameDirection) {
+                return false;
+            }
+        }
+        for (int i = 0; i < filterFields.size(); i++) {
+            if (!filterFields.get(i).equals(fields.get(equalityFields.size() + orders.size() + i).getKey())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        if (!textFields.isEmpty()) {
+            return name() + "{text=" + textFields + "}";
+        }
+        if (!filterFields.isEmpty()) {
+            return name() + "{equality=" + equalityFields + ", sort=" + sort + ", filter=" + filterFields + "}";
+        }
+        return name() + "{equality=" + equalityFields + ", sort=" + sort + "}";
+    }
+}
@@ -1,18 +1,26 @@
 package com.example.noteapplication.repository;
 
 import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.NoteSummary;
 import com.example.noteapplication.model.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 
-public interface NoteRepository extends MongoRepository<Note, String> {
-    Page<Note> findAllByOrderByCreatedDateDesc(Pageable pageable);
+public interface NoteRepository extends MongoRepository<Note, String>, NoteRepositoryCustom {
+    Page<NoteSummary> findAllByOrderByCreatedDateDesc(Pageable pageable);
 
-    Page<Note> findByTagsContainingOrderByCreatedDateDesc(Tag tag, Pageable pageable);
+    Page<NoteSummary> findByTagsContainingOrderByCreatedDateDesc(Tag tag, Pageable pageable);
+
+    Slice<NoteSummary> findSliceByOrderByCreatedDateDesc(Pageable pageable);
+
+    Slice<NoteSummary> findSliceByTagsContainingOrderByCreatedDateDesc(Tag tag, Pageable pageable);
+
+    long countByTagsContaining(Tag tag);
     //in this case we can use Spring Data naming convention (current) or @Query(for better understanding)
     // @Query(value = "{}", sort = "{ createdDate: -1 }")
     // Page<Note> findAllNotes(Pageable pageable);
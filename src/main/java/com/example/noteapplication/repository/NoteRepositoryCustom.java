@@ -0,0 +1,163 @@
+package com.example.noteapplication.repository;
+
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.NoteRevision;
+import com.example.noteapplication.model.NoteSummary;
+import com.example.noteapplication.model.NoteWordStatistics;
+import com.example.noteapplication.model.Tag;
+import com.mongodb.client.result.UpdateResult;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface NoteRepositoryCustom {
+    /**
+     * Keyset page: notes strictly after {@code cursor} in createdDate-desc, _id-desc order.
+     * A {@code null} cursor starts from the newest note.
+     */
+    List<NoteSummary> findPageAfter(NoteCursor cursor, Tag tag, int limit);
+
+    /**
+     * Keyset page starting at the newest note created at or before {@code createdDate}.
+     */
+    List<NoteSummary> findPageFrom(LocalDateTime createdDate, Tag tag, int limit);
+
+    /**
+     * Page of notes, newest first, whose tag mask has all ({@code matchAll}) or any of the bits of {@code mask} set,
+     * answered by a single bit test on the tag mask index. The total is only counted when it cannot be derived from
+     * the page.
+     */
+    Page<NoteSummary> findByTagMask(long mask, boolean matchAll, Pageable pageable);
+
+    /**
+     * Text search page over title and text: notes with {@code tag} matching {@code terms}, most relevant first and
+     * newest first among equally relevant notes. The total is only counted when it cannot be derived from the page.
+     */
+    Page<NoteSummary> search(String terms, Tag tag, Pageable pageable);
+
+    /**
+     * Document count taken from collection metadata instead of scanning.
+     */
+    long estimatedCount();
+
+    Optional<NoteWordStatistics> findWordStatisticsById(String id);
+
+    Optional<NoteRevision> findRevisionById(String id);
+
+    /**
+     * Id and text of every note stored without word statistics. The stream holds a server cursor and must be closed.
+     */
+    Stream<Note> streamWithoutWordStatistics();
+
+    /**
+     * Id and text of every note with {@code tag} stored without word statistics, all such notes for a {@code null} tag.
+     * The stream holds a server cursor and must be closed.
+     */
+    Stream<Note> streamWithoutWordStatistics(Tag tag);
+
+    /**
+     * Stored word statistics of every note with {@code tag} that has them, of all such notes for a {@code null} tag.
+     * The stream holds a server cursor and must be closed.
+     */
+    Stream<NoteWordStatistics> streamWordStatistics(Tag tag);
+
+    /**
+     * Id of every note stored without a tag mask. The stream holds a server cursor and must be closed.
+     */
+    Stream<Note> streamWithoutTagMask();
+
+    /**
+     * Id and title of every note. The stream holds a server cursor and must be closed.
+     */
+    Stream<Note> streamTitles();
+
+    /**
+     * Every note with {@code tag} created in [{@code from}, {@code to}), without its word statistics, newest first.
+     * {@code null} arguments do not restrict the selection. Notes are fetched from a single server cursor
+     * {@code notes.export.batch-size} at a time; the stream must be closed.
+     */
+    Stream<Note> streamForExport(Tag tag, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Stores precomputed word statistics keyed by note id in a single unordered bulk write. Notes that meanwhile got
+     * statistics, from an update written after their text was read, are left untouched. Returns the number of notes
+     * updated.
+     */
+    long saveWordStatistics(Map<String, Map<String, Long>> statisticsById);
+
+    /**
+     * Single {@code updateMany} storing the tag mask of the notes with one of {@code ids} that still have none. The
+     * mask is computed from the tags on the server, so tags written since the ids were read are never overwritten by a
+     * mask of older ones. Returns the number of notes updated.
+     */
+    long saveTagMasks(Collection<String> ids);
+
+    /**
+     * Single {@code findAndModify} that {@code $set}s title, text, word statistics, updatedDate and, when not
+     * {@code null}, tags and their mask, and increments the version. When {@code expectedVersion} is not
+     * {@code null} the note is only updated if it still has that version. Only id, createdDate, tags and version of
+     * the previous document are read. Returns the updated note, with {@code text} set as written and without its word
+     * statistics, together with its previous tags, or empty when nothing matched.
+     */
+    Optional<NoteUpdate> updateContent(String id, Long expectedVersion, String title, String text,
+                                       Map<String, Long> wordStatistics, Set<Tag> tags);
+
+    /**
+     * Single {@code findAndRemove} of the note with {@code id}. Returns the id and tags of the deleted note, or empty
+     * when there was none.
+     */
+    Optional<Note> removeReturningTags(String id);
+
+    /**
+     * Inserts notes with unordered bulk writes of {@code notes.batch.chunk-size} notes each, so one rejected
+     * note does not stop the others. Returns the error message of every rejected note keyed by its index in
+     * {@code notes}.
+     */
+    Map<Integer, String> insertAll(List<Note> notes);
+
+    /**
+     * Single {@code deleteMany} of the notes with one of {@code ids} and/or with {@code tag}; a {@code null} argument
+     * does not restrict the selection. Returns the number of deleted notes.
+     */
+    long deleteMatching(Collection<String> ids, Tag tag);
+
+    /**
+     * Single {@code updateMany} adding {@code value} to the tags of the notes selected as in {@link #deleteMatching}
+     * and recomputing their tag mask from the resulting tags, so notes not backfilled yet get a complete mask.
+     */
+    UpdateResult addTag(Collection<String> ids, Tag tag, Tag value);
+
+    /**
+     * Single {@code updateMany} removing {@code value} from the tags of the notes selected as in
+     * {@link #deleteMatching} and recomputing their tag mask from the resulting tags, so notes not backfilled yet get
+     * a complete mask.
+     */
+    UpdateResult removeTag(Collection<String> ids, Tag tag, Tag value);
+
+    /**
+     * Number of notes carrying each tag, aggregated over the whole collection. Tags no note carries are absent.
+     */
+    Map<Tag, Long> countByTag();
+
+    /**
+     * The maintained tag counters. Tags that were never counted are absent.
+     */
+    Map<Tag, Long> findTagCounts();
+
+    /**
+     * Adds each delta to the counter of its tag with {@code $inc} upserts in a single unordered bulk write.
+     */
+    void incrementTagCounts(Map<Tag, Long> deltas);
+
+    /**
+     * Overwrites the counters of the given tags with {@code $set} upserts in a single unordered bulk write.
+     */
+    void replaceTagCounts(Map<Tag, Long> counts);
+}
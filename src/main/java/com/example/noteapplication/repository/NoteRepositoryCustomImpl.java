@@ -0,0 +1,409 @@
+package com.example.noteapplication.repository;
+
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.NoteRevision;
+import com.example.noteapplication.model.NoteSummary;
+import com.example.noteapplication.model.NoteWordStatistics;
+import com.example.noteapplication.model.Tag;
+import com.example.noteapplication.model.TagCount;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+public class NoteRepositoryCustomImpl implements NoteRepositoryCustom {
+    static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("createdDate"), Sort.Order.desc("_id"));
+    private static final Document TAGS_OR_NONE = new Document("$ifNull", List.of("$tags", List.of()));
+
+    private final MongoTemplate mongoTemplate;
+    private final NoteTextCompressor textCompressor;
+    private final int batchChunkSize;
+    private final int exportBatchSize;
+
+    public NoteRepositoryCustomImpl(MongoTemplate mongoTemplate,
+                                    NoteTextCompressor textCompressor,
+                                    @Value("${notes.batch.chunk-size:1000}") int batchChunkSize,
+                                    @Value("${notes.export.batch-size:500}") int exportBatchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.textCompressor = textCompressor;
+        this.batchChunkSize = batchChunkSize;
+        this.exportBatchSize = exportBatchSize;
+    }
+
+    @Override
+    public List<NoteSummary> findPageAfter(NoteCursor cursor, Tag tag, int limit) {
+        Query query = keysetQuery(tag, limit);
+        if (cursor != null) {
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("createdDate").lt(cursor.createdDate()),
+                    Criteria.where("createdDate").is(cursor.createdDate()).and("_id").lt(toObjectId(cursor.id()))
+            ));
+        }
+        return mongoTemplate.query(Note.class).as(NoteSummary.class).matching(query).all();
+    }
+
+    @Override
+    public List<NoteSummary> findPageFrom(LocalDateTime createdDate, Tag tag, int limit) {
+        Query query = keysetQuery(tag, limit)
+                .addCriteria(Criteria.where("createdDate").lte(createdDate));
+        return mongoTemplate.query(Note.class).as(NoteSummary.class).matching(query).all();
+    }
+
+    @Override
+    public Page<NoteSummary> findByTagMask(long mask, boolean matchAll, Pageable pageable) {
+        Criteria tagMask = tagMaskCriteria(mask, matchAll);
+        Query query = Query.query(tagMask).with(KEYSET_SORT).with(pageable);
+        List<NoteSummary> content = mongoTemplate.query(Note.class).as(NoteSummary.class).matching(query).all();
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> mongoTemplate.count(Query.query(tagMask), Note.class));
+    }
+
+    // the bit operators take an int mask or bit positions; positions keep the 64-bit mask intact
+    static Criteria tagMaskCriteria(long mask, boolean matchAll) {
+        List<Integer> positions = BitSet.valueOf(new long[]{mask}).stream().boxed().toList();
+        return matchAll
+                ? Criteria.where("tagMask").bits().allSet(positions)
+                : Criteria.where("tagMask").bits().anySet(positions);
+    }
+
+    @Override
+    public Page<NoteSummary> search(String terms, Tag tag, Pageable pageable) {
+        TextCriteria matching = TextCriteria.forDefaultLanguage().matching(terms);
+        Query query = TextQuery.queryText(matching).sortByScore()
+                .with(KEYSET_SORT)
+                .with(pageable);
+        // listed fields only: a projection of just the score would return whole documents
+        query.fields().include("title", "createdDate");
+        Query count = new Query(matching);
+        if (tag != null) {
+            query.addCriteria(Criteria.where("tags").is(tag));
+            count.addCriteria(Criteria.where("tags").is(tag));
+        }
+        List<NoteSummary> content = mongoTemplate.query(Note.class).as(NoteSummary.class).matching(query).all();
+        return PageableExecutionUtils.getPage(content, pageable, () -> mongoTemplate.count(count, Note.class));
+    }
+
+    @Override
+    public long estimatedCount() {
+        return mongoTemplate.estimatedCount(Note.class);
+    }
+
+    @Override
+    public Optional<NoteWordStatistics> findWordStatisticsById(String id) {
+        return mongoTemplate.query(Note.class)
+                .as(NoteWordStatistics.class)
+                .matching(Query.query(Criteria.where("id").is(id)))
+                .one();
+    }
+
+    @Override
+    public Optional<NoteRevision> findRevisionById(String id) {
+        return mongoTemplate.query(Note.class)
+                .as(NoteRevision.class)
+                .matching(Query.query(Criteria.where("id").is(id)))
+                .one();
+    }
+
+    @Override
+    public Stream<Note> streamWithoutWordStatistics() {
+        return streamWithoutWordStatistics(null);
+    }
+
+    @Override
+    public Stream<Note> streamWithoutWordStatistics(Tag tag) {
+        Query query = Query.query(Criteria.where("wordStatistics").exists(false));
+        if (tag != null) {
+            query.addCriteria(Criteria.where("tags").is(tag));
+        }
+        query.fields().include("text", "compressedText");
+        return mongoTemplate.stream(query, Note.class);
+    }
+
+    @Override
+    public Stream<NoteWordStatistics> streamWordStatistics(Tag tag) {
+        Query query = Query.query(Criteria.where("wordStatistics").exists(true));
+        if (tag != null) {
+            query.addCriteria(Criteria.where("tags").is(tag));
+        }
+        return mongoTemplate.query(Note.class).as(NoteWordStatistics.class).matching(query).stream();
+    }
+
+    @Override
+    public Stream<Note> streamWithoutTagMask() {
+        Query query = Query.query(Criteria.where("tagMask").exists(false));
+        query.fields().include("id");
+        return mongoTemplate.stream(query, Note.class);
+    }
+
+    @Override
+    public Stream<Note> streamTitles() {
+        Query query = new Query();
+        query.fields().include("title");
+        return mongoTemplate.stream(query, Note.class);
+    }
+
+    @Override
+    public Stream<Note> streamForExport(Tag tag, LocalDateTime from, LocalDateTime to) {
+        Query query = new Query().with(KEYSET_SORT).cursorBatchSize(exportBatchSize);
+        if (tag != null) {
+            query.addCriteria(Criteria.where("tags").is(tag));
+        }
+        if (from != null || to != null) {
+            Criteria createdDate = Criteria.where("createdDate");
+            if (from != null) {
+                createdDate.gte(from);
+            }
+            if (to != null) {
+                createdDate.lt(to);
+            }
+            query.addCriteria(createdDate);
+        }
+        query.fields().exclude("wordStatistics", "searchTerms");
+        return mongoTemplate.stream(query, Note.class);
+    }
+
+    @Override
+    public long saveWordStatistics(Map<String, Map<String, Long>> statisticsById) {
+        if (statisticsById.isEmpty()) {
+            return 0;
+        }
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Note.class);
+        statisticsById.forEach((id, statistics) -> operations.updateOne(
+                Query.query(Criteria.where("id").is(id).and("wordStatistics").exists(false)),
+                new Update().set("wordStatistics", statistics)
+        ));
+        return operations.execute().getModifiedCount();
+    }
+
+    @Override
+    public long saveTagMasks(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Query query = Query.query(Criteria.where("id").in(ids).and("tagMask").exists(false));
+        AggregationUpdate update = AggregationUpdate.from(List.of(set(new Document("tagMask", tagMaskOfTags()))));
+        return mongoTemplate.updateMulti(query, update, Note.class).getModifiedCount();
+    }
+
+    @Override
+    public Optional<NoteUpdate> updateContent(String id, Long expectedVersion, String title, String text,
+                                              Map<String, Long> wordStatistics, Set<Tag> tags) {
+        Query query = Query.query(Criteria.where("id").is(id));
+        if (expectedVersion != null) {
+            // documents stored before versioning have no version field and are exposed as version 0
+            query.addCriteria(expectedVersion == 0
+                    ? Criteria.where("version").in(0L, null)
+                    : Criteria.where("version").is(expectedVersion));
+        }
+        // only what the updated note is derived from: neither the old text in any form nor the word statistics
+        query.fields().include("createdDate", "tags", "version");
+        // stored dates have millisecond precision
+        LocalDateTime updatedDate = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Update update = textCompressor.setText(new Update(), text, textCompressor.compress(text), wordStatistics)
+                .set("title", title)
+                .set("wordStatistics", wordStatistics)
+                .set("updatedDate", updatedDate);
+        if (tags != null) {
+            update.set("tags", tags).set("tagMask", Tag.mask(tags));
+        }
+        // the previous document is returned for its tags; the updated one is derived from it
+        // MongoTemplate adds the version increment to updates of versioned entities
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                        FindAndModifyOptions.options().returnNew(false), Note.class))
+                .map(previous -> {
+                    Set<Tag> previousTags = previous.getTags();
+                    previous.setTitle(title);
+                    // the text as written, whichever form it is stored in, so it need not be inflated again
+                    previous.setText(text);
+                    previous.setUpdatedDate(updatedDate);
+                    previous.setVersion(previous.getVersion() != null ? previous.getVersion() + 1 : 1);
+                    if (tags != null) {
+                        previous.setTags(tags);
+                        previous.setTagMask(Tag.mask(tags));
+                    }
+                    return new NoteUpdate(previous, previousTags != null ? previousTags : Set.of());
+                });
+    }
+
+    @Override
+    public Optional<Note> removeReturningTags(String id) {
+        Query query = Query.query(Criteria.where("id").is(id));
+        query.fields().include("tags");
+        return Optional.ofNullable(mongoTemplate.findAndRemove(query, Note.class));
+    }
+
+    @Override
+    public Map<Integer, String> insertAll(List<Note> notes) {
+        Map<Integer, String> failures = new HashMap<>();
+        for (int from = 0; from < notes.size(); from += batchChunkSize) {
+            List<Note> chunk = notes.subList(from, Math.min(from + batchChunkSize, notes.size()));
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Note.class).insert(chunk).execute();
+            } catch (BulkOperationException ex) {
+                // without per-document errors (e.g. a write concern error) the outcome of the chunk is unknown
+                if (ex.getErrors().isEmpty()) {
+                    throw ex;
+                }
+                for (BulkWriteError error : ex.getErrors()) {
+                    failures.put(from + error.getIndex(), error.getMessage());
+                }
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public long deleteMatching(Collection<String> ids, Tag tag) {
+        return mongoTemplate.remove(filterQuery(ids, tag), Note.class).getDeletedCount();
+    }
+
+    @Override
+    public UpdateResult addTag(Collection<String> ids, Tag tag, Tag value) {
+        return mongoTemplate.updateMulti(filterQuery(ids, tag), updateTags(value, true), Note.class);
+    }
+
+    @Override
+    public UpdateResult removeTag(Collection<String> ids, Tag tag, Tag value) {
+        return mongoTemplate.updateMulti(filterQuery(ids, tag), updateTags(value, false), Note.class);
+    }
+
+    // notes whose tags already are as requested stay unmodified; the mask is recomputed from the tags either way,
+    // which also completes it on notes the backfill has not reached yet
+    static AggregationUpdate updateTags(Tag value, boolean add) {
+        Document tagged = new Document("$in", List.of(value.name(), TAGS_OR_NONE));
+        Document changed = add ? new Document("$not", List.of(tagged)) : tagged;
+        Document tags = add
+                ? new Document("$concatArrays", List.of(TAGS_OR_NONE, List.of(value.name())))
+                : new Document("$filter", new Document("input", TAGS_OR_NONE)
+                        .append("cond", new Document("$ne", List.of("$$this", value.name()))));
+        // pipeline values bypass property conversion, so the date is converted as the mapping would, at the
+        // millisecond precision it is stored with
+        Date updatedDate = Date.from(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS)
+                .atZone(ZoneId.systemDefault()).toInstant());
+        return AggregationUpdate.from(List.of(
+                set(new Document("tags", ifElse(changed, tags, "$tags"))
+                        .append("updatedDate", ifElse(changed, updatedDate, "$updatedDate"))),
+                set(new Document("tagMask", tagMaskOfTags()))));
+    }
+
+    // Tag#mask of the stored tags: the sum of the bits of the distinct tags
+    static Document tagMaskOfTags() {
+        List<Document> bits = Arrays.stream(Tag.values())
+                .map(tag -> new Document("case", new Document("$eq", List.of("$$tag", tag.name())))
+                        .append("then", tag.bit()))
+                .toList();
+        Document bitOfTag = new Document("$switch", new Document("branches", bits).append("default", 0L));
+        return new Document("$toLong", new Document("$sum", new Document("$map",
+                new Document("input", new Document("$setUnion", List.of(TAGS_OR_NONE)))
+                        .append("as", "tag").append("in", bitOfTag))));
+    }
+
+    private static Document ifElse(Document condition, Object then, Object otherwise) {
+        return new Document("$cond", List.of(condition, then, otherwise));
+    }
+
+    private static AggregationOperation set(Document fields) {
+        return context -> new Document("$set", fields);
+    }
+
+    @Override
+    public Map<Tag, Long> countByTag() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.unwind("tags"),
+                Aggregation.group("tags").count().as("count")
+        );
+        return toMap(mongoTemplate.aggregate(aggregation, Note.class, TagCount.class).getMappedResults());
+    }
+
+    @Override
+    public Map<Tag, Long> findTagCounts() {
+        return toMap(mongoTemplate.findAll(TagCount.class));
+    }
+
+    @Override
+    public void incrementTagCounts(Map<Tag, Long> deltas) {
+        writeTagCounts(deltas, (update, delta) -> update.inc("count", delta));
+    }
+
+    @Override
+    public void replaceTagCounts(Map<Tag, Long> counts) {
+        writeTagCounts(counts, (update, count) -> update.set("count", count));
+    }
+
+    private void writeTagCounts(Map<Tag, Long> values, BiFunction<Update, Long, Update> write) {
+        if (values.isEmpty()) {
+            return;
+        }
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TagCount.class);
+        values.forEach((tag, value) -> operations.upsert(
+                Query.query(Criteria.where("tag").is(tag)),
+                write.apply(new Update(), value)
+        ));
+        operations.execute();
+    }
+
+    private static Map<Tag, Long> toMap(List<TagCount> counts) {
+        Map<Tag, Long> byTag = new EnumMap<>(Tag.class);
+        counts.forEach(count -> byTag.put(count.tag(), count.count()));
+        return byTag;
+    }
+
+    private static Query filterQuery(Collection<String> ids, Tag tag) {
+        if (ids == null && tag == null) {
+            throw new IllegalArgumentException("Bulk operations require ids or a tag");
+        }
+        Query query = new Query();
+        if (ids != null) {
+            query.addCriteria(Criteria.where("id").in(ids));
+        }
+        if (tag != null) {
+            query.addCriteria(Criteria.where("tags").is(tag));
+        }
+        return query;
+    }
+
+    private static Query keysetQuery(Tag tag, int limit) {
+        Query query = new Query().with(KEYSET_SORT).limit(limit);
+        if (tag != null) {
+            query.addCriteria(Criteria.where("tags").is(tag));
+        }
+        return query;
+    }
+
+    private static Object toObjectId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+}
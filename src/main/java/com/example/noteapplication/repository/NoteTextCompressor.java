@@ -0,0 +1,98 @@
+package com.example.noteapplication.repository;
+
+import com.example.noteapplication.model.CompressedText;
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.service.WordFrequencyCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides how note texts are stored: texts of at least {@code notes.text.compression.threshold} characters are
+ * deflated into the binary {@code compressedText} field when that saves space, all others stay in {@code text}.
+ * The distinct words of a compressed text are stored as {@code searchTerms}, which the text index covers in place of
+ * the text, so text search keeps matching compressed notes by their body.
+ * Readers inflate through {@link Note#readText()} only where the text is needed; list projections never select
+ * either field. Saves and inserts, bulk inserts included, pass notes through this callback; updates that set the
+ * text use {@link #setText}.
+ * <p>
+ * Each compression is timed as {@code notes.text.compression} and its ratio of UTF-8 to compressed bytes recorded
+ * as {@code notes.text.compression.ratio}.
+ */
+@Component
+public class NoteTextCompressor implements BeforeConvertCallback<Note> {
+    private final boolean enabled;
+    private final int threshold;
+    private final Timer compressionTimer;
+    private final DistributionSummary compressionRatio;
+
+    public NoteTextCompressor(@Value("${notes.text.compression.enabled:false}") boolean enabled,
+                              @Value("${notes.text.compression.threshold:16384}") int threshold,
+                              MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.compressionTimer = Timer.builder("notes.text.compression")
+                .description("Time spent compressing note texts")
+                .register(meterRegistry);
+        this.compressionRatio = DistributionSummary.builder("notes.text.compression.ratio")
+                .description("UTF-8 size of compressed note texts divided by their compressed size")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The compressed form of {@code text}, or {@code null} if it is stored as is.
+     */
+    public byte[] compress(String text) {
+        if (!enabled || text == null || text.length() < threshold) {
+            return null;
+        }
+        long start = System.nanoTime();
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = CompressedText.deflate(utf8);
+        compressionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        compressionRatio.record((double) utf8.length / compressed.length);
+        return compressed.length < utf8.length ? compressed : null;
+    }
+
+    /**
+     * Moves the text of a note about to be written into {@code compressedText} if it is compressed. Notes read in
+     * compressed form carry no text and are left as they are.
+     */
+    @Override
+    public Note onBeforeConvert(Note note, String collection) {
+        byte[] compressed = compress(note.getText());
+        if (compressed != null) {
+            note.setSearchTerms(searchTerms(note.getText(), note.getWordStatistics()));
+            note.setText(null);
+            note.setCompressedText(compressed);
+        } else if (note.getText() != null) {
+            note.setCompressedText(null);
+            note.setSearchTerms(null);
+        }
+        return note;
+    }
+
+    /**
+     * Adds the writes of {@code text} in its stored form, clearing the other form, to {@code update}.
+     */
+    public Update setText(Update update, String text, byte[] compressed, Map<String, Long> wordStatistics) {
+        return compressed != null
+                ? update.unset("text").set("compressedText", compressed)
+                        .set("searchTerms", searchTerms(text, wordStatistics))
+                : update.set("text", text).unset("compressedText").unset("searchTerms");
+    }
+
+    // the words of the statistics are the tokens of the text, lower-cased like the text index matches them
+    static Set<String> searchTerms(String text, Map<String, Long> wordStatistics) {
+        return Set.copyOf((wordStatistics != null ? wordStatistics : WordFrequencyCounter.count(text)).keySet());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.noteapplication.repository;
+
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.Tag;
+
+import java.util.Set;
+
+/**
+ * A note as updated by {@link NoteRepositoryCustom#updateContent} and the tags it had before the update.
+ */
+public record NoteUpdate(Note note, Set<Tag> previousTags) {
+}
@@ -0,0 +1,25 @@
+package com.example.noteapplication.repository;
+
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.NoteSummary;
+import com.example.noteapplication.model.NoteWordStatistics;
+import com.example.noteapplication.model.Tag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link NoteRepository}, only enabled with the {@code reactive} profile.
+ */
+public interface ReactiveNoteRepository extends ReactiveMongoRepository<Note, String>, ReactiveNoteRepositoryCustom {
+    Flux<NoteSummary> findAllByOrderByCreatedDateDesc(Pageable pageable);
+
+    Flux<NoteSummary> findByTagsContainingOrderByCreatedDateDesc(Tag tag, Pageable pageable);
+
+    Mono<Long> countByTagsContaining(Tag tag);
+
+    Mono<NoteWordStatistics> findWordStatisticsById(String id);
+
+    Mono<Long> removeById(String id);
+}
@@ -0,0 +1,32 @@
+package com.example.noteapplication.repository;
+
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.NoteSummary;
+import com.example.noteapplication.model.Tag;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Set;
+
+public interface ReactiveNoteRepositoryCustom {
+    /**
+     * Same single {@code findAndModify} as {@link NoteRepositoryCustom#updateContent}, empty when nothing matched.
+     */
+    Mono<Note> updateContent(String id, Long expectedVersion, String title, String text,
+                             Map<String, Long> wordStatistics, Set<Tag> tags);
+
+    /**
+     * Stores word statistics computed from the text that was read, unless the note got statistics meanwhile.
+     */
+    Mono<Void> saveWordStatistics(String id, Map<String, Long> wordStatistics);
+
+    /**
+     * Page of the notes whose tags cover all ({@code matchAll}) or any bits of {@code mask}, newest first, as
+     * {@link NoteRepositoryCustom#findByTagMask} without the count.
+     */
+    Flux<NoteSummary> findByTagMask(long mask, boolean matchAll, Pageable pageable);
+
+    Mono<Long> countByTagMask(long mask, boolean matchAll);
+}
@@ -0,0 +1,70 @@
+package com.example.noteapplication.repository;
+
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.NoteSummary;
+import com.example.noteapplication.model.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class ReactiveNoteRepositoryCustomImpl implements ReactiveNoteRepositoryCustom {
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final NoteTextCompressor textCompressor;
+
+    @Override
+    public Mono<Note> updateContent(String id, Long expectedVersion, String title, String text,
+                                    Map<String, Long> wordStatistics, Set<Tag> tags) {
+        Query query = Query.query(Criteria.where("id").is(id));
+        if (expectedVersion != null) {
+            // documents stored before versioning have no version field and are exposed as version 0
+            query.addCriteria(expectedVersion == 0
+                    ? Criteria.where("version").in(0L, null)
+                    : Criteria.where("version").is(expectedVersion));
+        }
+        query.fields().exclude("wordStatistics", "searchTerms");
+        // stored dates have millisecond precision
+        LocalDateTime updatedDate = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Update update = textCompressor.setText(new Update(), text, textCompressor.compress(text), wordStatistics)
+                .set("title", title)
+                .set("wordStatistics", wordStatistics)
+                .set("updatedDate", updatedDate);
+        if (tags != null) {
+            update.set("tags", tags).set("tagMask", Tag.mask(tags));
+        }
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Note.class);
+    }
+
+    @Override
+    public Mono<Void> saveWordStatistics(String id, Map<String, Long> wordStatistics) {
+        return mongoTemplate.updateFirst(
+                Query.query(Criteria.where("id").is(id).and("wordStatistics").exists(false)),
+                new Update().set("wordStatistics", wordStatistics),
+                Note.class
+        ).then();
+    }
+
+    @Override
+    public Flux<NoteSummary> findByTagMask(long mask, boolean matchAll, Pageable pageable) {
+        Query query = Query.query(NoteRepositoryCustomImpl.tagMaskCriteria(mask, matchAll))
+                .with(NoteRepositoryCustomImpl.KEYSET_SORT)
+                .with(pageable);
+        return mongoTemplate.query(Note.class).as(NoteSummary.class).matching(query).all();
+    }
+
+    @Override
+    public Mono<Long> countByTagMask(long mask, boolean matchAll) {
+        return mongoTemplate.count(Query.query(NoteRepositoryCustomImpl.tagMaskCriteria(mask, matchAll)), Note.class);
+    }
+}
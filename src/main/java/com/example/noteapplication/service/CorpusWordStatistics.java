@@ -0,0 +1,245 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.NoteWordStatistics;
+import com.example.noteapplication.model.Tag;
+import com.example.noteapplication.repository.NoteRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Word frequencies over all notes or over all notes with a tag, sorted by frequency in descending order
+ * (alphabetically among equally frequent words).
+ * <p>
+ * Notes are read through projected cursors on the calling thread and handed to a fork-join pool in chunks of
+ * {@code notes.stats.chunk-size}. Every worker adds the word statistics stored on the notes, or the counts of the
+ * tokenized text of notes stored before statistics were, to its own open-addressing table of primitive counters;
+ * the tables are merged once the cursors are exhausted. At most two chunks per worker are in flight, so a slow pool
+ * throttles the cursor. The {@value #MAX_LIMIT} most frequent words are cached per tag until the next write;
+ * concurrent misses of a tag wait for a single count.
+ */
+@Component
+public class CorpusWordStatistics {
+    static final int MAX_LIMIT = 1000;
+
+    private final NoteRepository noteRepository;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final AtomicLong writes = new AtomicLong();
+    private final Map<String, CachedWords> cache = new ConcurrentHashMap<>();
+
+    public CorpusWordStatistics(NoteRepository noteRepository,
+                                @Value("${notes.stats.parallelism:0}") int parallelism,
+                                @Value("${notes.stats.chunk-size:500}") int chunkSize) {
+        this.noteRepository = noteRepository;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.chunkSize = chunkSize;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Marks every cached result as stale; called after each write that can change texts or tags.
+     */
+    public void invalidate() {
+        writes.incrementAndGet();
+    }
+
+    public Map<String, Long> top(Tag tag, int limit) {
+        String key = tag != null ? tag.name() : "";
+        // read before counting, so a write during the count leaves the result stale
+        long writesBefore = writes.get();
+        CachedWords counting = new CachedWords(writesBefore, new CompletableFuture<>());
+        // callers missing at once share one count, a count started after a later write serves them as well
+        CachedWords cached = cache.compute(key, (k, current) ->
+                current != null && current.writes() >= writesBefore ? current : counting);
+        if (cached == counting) {
+            try {
+                counting.words().complete(count(tag).top(MAX_LIMIT));
+            } catch (RuntimeException ex) {
+                cache.remove(key, counting);
+                counting.words().completeExceptionally(ex);
+                throw ex;
+            }
+        }
+        List<Map.Entry<String, Long>> top = await(cached.words());
+        Map<String, Long> words = LinkedHashMap.newLinkedHashMap(Math.min(limit, top.size()));
+        for (Map.Entry<String, Long> word : top) {
+            if (words.size() == limit) {
+                break;
+            }
+            words.put(word.getKey(), word.getValue());
+        }
+        return words;
+    }
+
+    private WordCounts count(Tag tag) {
+        ParallelCount count = new ParallelCount();
+        try (Stream<NoteWordStatistics> notes = noteRepository.streamWordStatistics(tag)) {
+            count.submit(notes, (counts, note) -> {
+                if (note.wordStatistics() != null) {
+                    note.wordStatistics().forEach(counts::add);
+                }
+            });
+        }
+        try (Stream<Note> notes = noteRepository.streamWithoutWordStatistics(tag)) {
+            count.submit(notes, (counts, note) -> {
+                // inflated on the worker, so the cursor thread only reads
+                String text = note.readText();
+                if (text != null) {
+                    WordFrequencyCounter.count(text).forEach(counts::add);
+                }
+            });
+        }
+        return count.merge();
+    }
+
+    private static List<Map.Entry<String, Long>> await(CompletableFuture<List<Map.Entry<String, Long>>> words) {
+        try {
+            return words.join();
+        } catch (CompletionException ex) {
+            // the failure of the count another caller ran
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    private record CachedWords(long writes, CompletableFuture<List<Map.Entry<String, Long>>> words) {
+    }
+
+    /**
+     * One count: chunks submitted from the reading thread and the counters of the workers that processed them.
+     */
+    private final class ParallelCount {
+        private final Map<Thread, WordCounts> counters = new ConcurrentHashMap<>();
+        private final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        private final Semaphore inFlight = new Semaphore(2 * pool.getParallelism());
+
+        private <T> void submit(Stream<T> notes, BiConsumer<WordCounts, T> counter) {
+            Iterator<T> iterator = notes.iterator();
+            while (iterator.hasNext()) {
+                List<T> chunk = new ArrayList<>(chunkSize);
+                while (iterator.hasNext() && chunk.size() < chunkSize) {
+                    chunk.add(iterator.next());
+                }
+                inFlight.acquireUninterruptibly();
+                tasks.add(pool.submit(() -> {
+                    try {
+                        // a worker runs one chunk at a time, so its table is never shared
+                        WordCounts counts = counters.computeIfAbsent(Thread.currentThread(), worker -> new WordCounts());
+                        chunk.forEach(note -> counter.accept(counts, note));
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+        }
+
+        private WordCounts merge() {
+            tasks.forEach(ForkJoinTask::join);
+            WordCounts merged = new WordCounts();
+            counters.values().forEach(merged::addAll);
+            return merged;
+        }
+    }
+
+    /**
+     * Open-addressing table of words and their {@code long} counts.
+     */
+    static final class WordCounts {
+        private String[] words = new String[64];
+        private long[] counts = new long[64];
+        private int size;
+
+        void add(String word, long count) {
+            int mask = words.length - 1;
+            int slot = spread(word.hashCode()) & mask;
+            while (words[slot] != null) {
+                if (words[slot].equals(word)) {
+                    counts[slot] += count;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            words[slot] = word;
+            counts[slot] = count;
+            if (++size * 2 > words.length) {
+                resize();
+            }
+        }
+
+        void addAll(WordCounts other) {
+            for (int slot = 0; slot < other.words.length; slot++) {
+                if (other.words[slot] != null) {
+                    add(other.words[slot], other.counts[slot]);
+                }
+            }
+        }
+
+        /**
+         * The {@code limit} most frequent words, most frequent first and alphabetically among equal counts.
+         */
+        List<Map.Entry<String, Long>> top(int limit) {
+            Comparator<Integer> order = Comparator.<Integer>comparingLong(slot -> counts[slot])
+                    .thenComparing(slot -> words[slot], Comparator.reverseOrder());
+            // the least frequent of the words kept so far is at the head and evicted first
+            PriorityQueue<Integer> kept = new PriorityQueue<>(Math.min(limit, size) + 1, order);
+            for (int slot = 0; slot < words.length; slot++) {
+                if (words[slot] != null) {
+                    kept.add(slot);
+                    if (kept.size() > limit) {
+                        kept.poll();
+                    }
+                }
+            }
+            List<Map.Entry<String, Long>> top = new ArrayList<>(kept.size());
+            while (!kept.isEmpty()) {
+                int slot = kept.poll();
+                top.add(Map.entry(words[slot], counts[slot]));
+            }
+            return top.reversed();
+        }
+
+        private void resize() {
+            String[] oldWords = words;
+            long[] oldCounts = counts;
+            words = new String[oldWords.length * 2];
+            counts = new long[oldWords.length * 2];
+            int mask = words.length - 1;
+            for (int old = 0; old < oldWords.length; old++) {
+                if (oldWords[old] != null) {
+                    int slot = spread(oldWords[old].hashCode()) & mask;
+                    while (words[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    words[slot] = oldWords[old];
+                    counts[slot] = oldCounts[old];
+                }
+            }
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.model.Note;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * In-process read-through cache of notes by id, bounded by the approximate heap size of the cached notes.
+ * Caffeine's W-TinyLFU policy keeps frequently read notes over recently read ones. Entries expire after
+ * {@code notes.cache.expire-after-write}, which also bounds staleness across application instances.
+ * Hit/miss counts, evictions and load time are published as {@code cache.*} metrics tagged {@code cache=notes}.
+ */
+@Component
+public class NoteCache {
+    private static final int ENTRY_OVERHEAD = 256;
+    private static final int WORD_STATISTICS_ENTRY_WEIGHT = 64;
+
+    private final Cache<String, Note> cache;
+
+    public NoteCache(@Value("${notes.cache.maximum-weight:64MB}") DataSize maximumWeight,
+                     @Value("${notes.cache.expire-after-write:10m}") Duration expireAfterWrite,
+                     MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher((String id, Note note) -> weigh(note))
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "notes");
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", "notes")
+                .description("Share of cache lookups that were hits since startup")
+                .register(meterRegistry);
+    }
+
+    public Optional<Note> get(String id, Function<String, Optional<Note>> loader) {
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    public Optional<Note> getIfPresent(String id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    // approximate retained bytes, strings counted as UTF-16
+    private static int weigh(Note note) {
+        long weight = ENTRY_OVERHEAD;
+        weight += note.getTitle() != null ? 2L * note.getTitle().length() : 0;
+        weight += note.getText() != null ? 2L * note.getText().length() : 0;
+        weight += note.getCompressedText() != null ? note.getCompressedText().length : 0;
+        weight += note.getWordStatistics() != null ? (long) WORD_STATISTICS_ENTRY_WEIGHT * note.getWordStatistics().size() : 0;
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+}
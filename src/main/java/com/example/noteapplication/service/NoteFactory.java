@@ -0,0 +1,50 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.dto.NoteCreateRequest;
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.Tag;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Validates note creation requests that bypass bean validation of the request body, such as batch and import items,
+ * and builds the notes to store from them, with their tag mask and word statistics.
+ */
+@Component
+@RequiredArgsConstructor
+public class NoteFactory {
+    private final Validator validator;
+
+    /**
+     * The constraint violations of {@code request} by property path, empty if it is valid.
+     */
+    public Map<String, String> validate(NoteCreateRequest request) {
+        if (request == null) {
+            return Map.of("note", "Note is required");
+        }
+        Map<String, String> errors = new TreeMap<>();
+        for (ConstraintViolation<NoteCreateRequest> violation : validator.validate(request)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    public Note newNote(NoteCreateRequest request, LocalDateTime createdDate) {
+        return Note.builder()
+                .title(request.title())
+                .text(request.text())
+                .tags(request.tags() != null ? request.tags() : new HashSet<>())
+                .tagMask(Tag.mask(request.tags()))
+                .wordStatistics(WordFrequencyCounter.count(request.text()))
+                .createdDate(createdDate)
+                .updatedDate(createdDate)
+                .build();
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.dto.NoteBatchItemResult;
+import com.example.noteapplication.dto.NoteCreateRequest;
+import com.example.noteapplication.dto.NoteImportRejection;
+import com.example.noteapplication.dto.NoteImportResponse;
+import com.example.noteapplication.exception.NoteImportLineTooLongException;
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.repository.NoteRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates notes from newline-delimited JSON, one note creation request per line.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NoteImporter {
+    private final NoteRepository noteRepository;
+    private final NoteTitleIndex titleIndex;
+    private final CorpusWordStatistics corpusStatistics;
+    private final TagCounter tagCounter;
+    private final ObjectMapper objectMapper;
+    private final NoteFactory noteFactory;
+
+    @Value("${notes.import.batch-size:1000}")
+    private int batchSize;
+    @Value("${notes.import.max-reported-rejections:1000}")
+    private int maxReportedRejections;
+    @Value("${notes.import.max-line-length:1048576}")
+    private int maxLineLength;
+
+    /**
+     * Reads, validates and inserts notes batch by batch on the calling thread: the input is not read further
+     * while a batch is being written, so a slow database throttles the client and at most one batch is held
+     * in memory. Batches written before an unexpected failure stay written.
+     *
+     * @throws NoteImportLineTooLongException at the first line longer than {@code notes.import.max-line-length}
+     *                                        characters, once the lines before it are written
+     */
+    public NoteImportResponse importNotes(InputStream ndjson) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(NoteCreateRequest.class);
+        Progress progress = new Progress();
+        Batch batch = new Batch(batchSize);
+        // parsed line by line so that a malformed line is rejected on its own instead of ending the import
+        LineReader lines = new LineReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String line;
+        while ((line = lines.readLine(maxLineLength)) != null) {
+            lineNumber++;
+            if (lines.tooLong()) {
+                flush(batch, progress);
+                throw new NoteImportLineTooLongException("Line " + lineNumber + " is longer than " + maxLineLength
+                        + " characters; " + progress.accepted + " notes of the lines before it were imported");
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            progress.lines++;
+            NoteCreateRequest request;
+            try (JsonParser parser = objectMapper.getFactory().createParser(line)) {
+                request = reader.readValue(parser);
+            } catch (JsonProcessingException ex) {
+                progress.reject(lineNumber, NoteBatchItemResult.Status.INVALID, Map.of("json", String.valueOf(ex.getOriginalMessage())));
+                continue;
+            }
+            Map<String, String> errors = noteFactory.validate(request);
+            if (!errors.isEmpty()) {
+                progress.reject(lineNumber, NoteBatchItemResult.Status.INVALID, errors);
+                continue;
+            }
+            batch.add(request, lineNumber);
+            if (batch.notes.size() >= batchSize) {
+                flush(batch, progress);
+            }
+        }
+        flush(batch, progress);
+        log.info("Imported {} notes, rejected {} of {} lines", progress.accepted, progress.rejected, progress.lines);
+        return new NoteImportResponse(progress.lines, progress.accepted, progress.rejected, progress.rejections);
+    }
+
+    private void flush(Batch batch, Progress progress) {
+        if (batch.notes.isEmpty()) {
+            return;
+        }
+        Map<Integer, String> failures = noteRepository.insertAll(batch.notes);
+        corpusStatistics.invalidate();
+        List<Note> inserted = new ArrayList<>(batch.notes.size() - failures.size());
+        // insertAll reports failures by position, so line order is kept by going through the batch in order
+        for (int i = 0; i < batch.notes.size(); i++) {
+            String failure = failures.get(i);
+            if (failure == null) {
+                progress.accepted++;
+                titleIndex.put(batch.notes.get(i).getId(), batch.notes.get(i).getTitle());
+                inserted.add(batch.notes.get(i));
+            } else {
+                progress.reject(batch.lines[i], NoteBatchItemResult.Status.FAILED, Map.of("write", failure));
+            }
+        }
+        tagCounter.created(inserted);
+        batch.clear();
+    }
+
+    /**
+     * Splits the input at {@code \n}, buffering no more of a line than its maximum length. A trailing {@code \r}
+     * is kept; the JSON parser skips it as whitespace.
+     */
+    private static final class LineReader {
+        private final Reader in;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        private boolean tooLong;
+
+        private LineReader(Reader in) {
+            this.in = in;
+        }
+
+        /**
+         * The next line, or {@code null} at the end of the input. A line of more than {@code maxLength} characters
+         * is read only up to that length and makes {@link #tooLong()} return {@code true}.
+         */
+        private String readLine(int maxLength) throws IOException {
+            tooLong = false;
+            StringBuilder line = null;
+            while (true) {
+                if (position == limit) {
+                    limit = Math.max(in.read(buffer), 0);
+                    position = 0;
+                    if (limit == 0) {
+                        return line != null ? line.toString() : null;
+                    }
+                }
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                if (line == null) {
+                    line = new StringBuilder();
+                }
+                if (line.length() + position - start > maxLength) {
+                    tooLong = true;
+                    return line.toString();
+                }
+                line.append(buffer, start, position - start);
+                if (position < limit) {
+                    position++;
+                    return line.toString();
+                }
+            }
+        }
+
+        private boolean tooLong() {
+            return tooLong;
+        }
+    }
+
+    private final class Batch {
+        private final List<Note> notes;
+        private final long[] lines;
+
+        private Batch(int size) {
+            notes = new ArrayList<>(size);
+            lines = new long[size];
+        }
+
+        private void add(NoteCreateRequest request, long line) {
+            Note note = noteFactory.newNote(request, LocalDateTime.now());
+            // assigned up front as for batch creation, which also leaves version initialization to the caller
+            note.setId(new ObjectId().toHexString());
+            note.setVersion(0L);
+            lines[notes.size()] = line;
+            notes.add(note);
+        }
+
+        private void clear() {
+            notes.clear();
+        }
+    }
+
+    private final class Progress {
+        private final List<NoteImportRejection> rejections = new ArrayList<>();
+        private long lines;
+        private long accepted;
+        private long rejected;
+
+        private void reject(long line, NoteBatchItemResult.Status status, Map<String, String> errors) {
+            rejected++;
+            if (rejections.size() < maxReportedRejections) {
+                rejections.add(new NoteImportRejection(line, status, errors));
+            }
+        }
+    }
+}
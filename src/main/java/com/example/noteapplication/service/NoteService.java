@@ -1,25 +1,101 @@
 package com.example.noteapplication.service;
 
+import com.example.noteapplication.dto.CountMode;
+import com.example.noteapplication.dto.NoteBatchResponse;
+import com.example.noteapplication.dto.NoteBulkResponse;
 import com.example.noteapplication.dto.NoteCreateRequest;
+import com.example.noteapplication.dto.NoteCursorPageResponse;
 import com.example.noteapplication.dto.NoteDetailResponse;
+import com.example.noteapplication.dto.NoteFilter;
 import com.example.noteapplication.dto.NoteListResponse;
+import com.example.noteapplication.dto.NoteSliceResponse;
+import com.example.noteapplication.dto.NoteSuggestion;
 import com.example.noteapplication.dto.NoteUpdateRequest;
+import com.example.noteapplication.dto.TagMatch;
+import com.example.noteapplication.model.NoteRevision;
+import com.example.noteapplication.model.NoteWordStatistics;
 import com.example.noteapplication.model.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface NoteService {
     NoteDetailResponse createNote(NoteCreateRequest request);
 
+    NoteBatchResponse createNotes(List<NoteCreateRequest> requests);
+
     NoteDetailResponse updateNote(String id, NoteUpdateRequest request);
 
+    /**
+     * Updates the note only if its version is still {@code expectedVersion}, {@code null} updating unconditionally.
+     */
+    NoteDetailResponse updateNote(String id, NoteUpdateRequest request, Long expectedVersion);
+
     void deleteNote(String id);
 
+    NoteBulkResponse deleteNotes(NoteFilter filter);
+
+    NoteBulkResponse addTag(NoteFilter filter, Tag tag);
+
+    NoteBulkResponse removeTag(NoteFilter filter, Tag tag);
+
     Page<NoteListResponse> listNotes(Pageable pageable, Tag tag);
 
+    Page<NoteListResponse> listNotes(Pageable pageable, Tag tag, CountMode countMode);
+
+    NoteSliceResponse listNotesSlice(Pageable pageable, Tag tag);
+
+    /**
+     * Notes carrying all or any of {@code tags}, newest first, selected by a single query on the tag mask.
+     */
+    Page<NoteListResponse> listNotesByTags(Pageable pageable, Set<Tag> tags, TagMatch match);
+
+    /**
+     * Notes whose title or text match {@code query}, most relevant first, optionally restricted to {@code tag}.
+     */
+    Page<NoteListResponse> searchNotes(String query, Pageable pageable, Tag tag);
+
+    NoteCursorPageResponse listNotes(String cursor, int size, Tag tag);
+
+    NoteCursorPageResponse listNotesFrom(LocalDateTime createdDate, int size, Tag tag);
+
+    /**
+     * Up to {@code limit} notes whose title starts with {@code prefix}, ignoring case, in alphabetical order,
+     * answered from memory.
+     */
+    List<NoteSuggestion> suggestNotes(String prefix, int limit);
+
+    /**
+     * Notes with {@code tag} created in [{@code from}, {@code to}), newest first, read lazily from a single
+     * database cursor. {@code null} arguments do not restrict the selection; the stream must be closed.
+     */
+    Stream<NoteDetailResponse> exportNotes(Tag tag, LocalDateTime from, LocalDateTime to);
+
     NoteDetailResponse getNoteById(String id);
 
-    Map<String, Long> getWordStatistics(String id);
+    /**
+     * Version and modification date of a note, without loading its text.
+     */
+    NoteRevision getNoteRevision(String id);
+
+    /**
+     * Word frequencies of a note's text, with the version and dates of the note they were read with.
+     */
+    NoteWordStatistics getWordStatistics(String id);
+
+    /**
+     * The {@code limit} most frequent words over all notes with {@code tag}, or over all notes for a {@code null} tag,
+     * most frequent first.
+     */
+    Map<String, Long> getWordStatistics(Tag tag, int limit);
+
+    /**
+     * Number of notes carrying each tag, read from maintained counters.
+     */
+    Map<Tag, Long> getTagCounts();
 }
@@ -1,105 +1,367 @@
 package com.example.noteapplication.service;
 
+import com.example.noteapplication.dto.CountMode;
+import com.example.noteapplication.dto.NoteBatchItemResult;
+import com.example.noteapplication.dto.NoteBatchResponse;
+import com.example.noteapplication.dto.NoteBulkResponse;
 import com.example.noteapplication.dto.NoteCreateRequest;
+import com.example.noteapplication.dto.NoteCursorPageResponse;
 import com.example.noteapplication.dto.NoteDetailResponse;
+import com.example.noteapplication.dto.NoteFilter;
 import com.example.noteapplication.dto.NoteListResponse;
+import com.example.noteapplication.dto.NoteSliceResponse;
+import com.example.noteapplication.dto.NoteSuggestion;
 import com.example.noteapplication.dto.NoteUpdateRequest;
+import com.example.noteapplication.dto.TagMatch;
+import com.example.noteapplication.exception.InvalidNoteRequestException;
 import com.example.noteapplication.exception.NoteNotFoundException;
+import com.example.noteapplication.exception.NoteVersionMismatchException;
 import com.example.noteapplication.mapper.NoteMapper;
 import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.NoteRevision;
+import com.example.noteapplication.model.NoteSummary;
+import com.example.noteapplication.model.NoteWordStatistics;
 import com.example.noteapplication.model.Tag;
+import com.example.noteapplication.repository.NoteCursor;
 import com.example.noteapplication.repository.NoteRepository;
+import com.example.noteapplication.repository.NoteUpdate;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
 
+/**
+ * Every public method is timed as {@code notes.service}, with a percentile histogram, and each one that throws is
+ * counted as {@code notes.service.errors}. Both are tagged by method and exception class.
+ */
 @Service
 @RequiredArgsConstructor
+@Timed(value = "notes.service", description = "Latency of note service operations", histogram = true)
+@Counted(value = "notes.service.errors", description = "Failed note service operations", recordFailuresOnly = true)
 public class NoteServiceImpl implements NoteService {
     private final NoteRepository noteRepository;
     private final NoteMapper mapper;
-    private static final Pattern NON_WORD_PATTERN = Pattern.compile("[^a-zа-яієїґ\\s]");
-    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+    private final NoteTotalCounter totalCounter;
+    private final NoteCache noteCache;
+    private final NoteTitleIndex titleIndex;
+    private final CorpusWordStatistics corpusStatistics;
+    private final TagCounter tagCounter;
+    private final NoteFactory noteFactory;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 10_000;
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final int MAX_SUGGESTIONS = 50;
 
     @Override
     public NoteDetailResponse createNote(NoteCreateRequest request) {
-        Note note = Note.builder()
-                .title(request.title())
-                .text(request.text())
-                .tags(request.tags() != null ? request.tags() : new HashSet<>())
-                .createdDate(LocalDateTime.now())
-                .build();
-        Note savedNote = noteRepository.save(note);
+        Note savedNote = noteRepository.save(noteFactory.newNote(request, LocalDateTime.now()));
+        titleIndex.put(savedNote.getId(), savedNote.getTitle());
+        corpusStatistics.invalidate();
+        tagCounter.created(List.of(savedNote));
         return mapper.mapToDetailResponse(savedNote);
     }
 
+    @Override
+    public NoteBatchResponse createNotes(List<NoteCreateRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            throw new InvalidNoteRequestException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " notes");
+        }
+        NoteBatchItemResult[] results = new NoteBatchItemResult[requests.size()];
+        List<Note> notes = new ArrayList<>(requests.size());
+        List<Integer> positions = new ArrayList<>(requests.size());
+        LocalDateTime createdDate = LocalDateTime.now();
+        for (int index = 0; index < requests.size(); index++) {
+            NoteCreateRequest request = requests.get(index);
+            Map<String, String> errors = noteFactory.validate(request);
+            if (!errors.isEmpty()) {
+                results[index] = NoteBatchItemResult.invalid(index, errors);
+                continue;
+            }
+            Note note = noteFactory.newNote(request, createdDate);
+            // assigned up front so that ids can be reported for an unordered bulk insert,
+            // which also leaves version initialization to the caller
+            note.setId(new ObjectId().toHexString());
+            note.setVersion(0L);
+            notes.add(note);
+            positions.add(index);
+        }
+        Map<Integer, String> failures = notes.isEmpty() ? Map.of() : noteRepository.insertAll(notes);
+        if (!notes.isEmpty()) {
+            corpusStatistics.invalidate();
+        }
+        List<Note> created = new ArrayList<>(notes.size() - failures.size());
+        for (int i = 0; i < notes.size(); i++) {
+            int index = positions.get(i);
+            String id = notes.get(i).getId();
+            String failure = failures.get(i);
+            if (failure == null) {
+                titleIndex.put(id, notes.get(i).getTitle());
+                created.add(notes.get(i));
+                results[index] = NoteBatchItemResult.created(index, id);
+            } else {
+                results[index] = NoteBatchItemResult.failed(index, id, failure);
+            }
+        }
+        tagCounter.created(created);
+        return NoteBatchResponse.of(Arrays.asList(results));
+    }
+
     @Override
     public NoteDetailResponse updateNote(String id, NoteUpdateRequest request) {
-        Note note = noteRepository.findById(id)
-                .orElseThrow(() -> new NoteNotFoundException("Note not found with id: " + id));
-        note.setTitle(request.title());
-        note.setText(request.text());
-        note.setTags(request.tags() != null ? request.tags() : note.getTags());
+        return updateNote(id, request, null);
+    }
+
+    @Override
+    public NoteDetailResponse updateNote(String id, NoteUpdateRequest request, Long expectedVersion) {
+        NoteUpdate update = noteRepository.updateContent(id, expectedVersion, request.title(), request.text(),
+                        WordFrequencyCounter.count(request.text()), request.tags())
+                .orElseThrow(() -> updateFailure(id, expectedVersion));
+        noteCache.invalidate(id);
+        titleIndex.put(id, update.note().getTitle());
+        corpusStatistics.invalidate();
+        tagCounter.updated(update.previousTags(), request.tags());
+        return mapper.mapToDetailResponse(update.note());
+    }
 
-        Note updatedNote = noteRepository.save(note);
-        return mapper.mapToDetailResponse(updatedNote);
+    // only a failed conditional update needs to tell a missing note from a newer version
+    private RuntimeException updateFailure(String id, Long expectedVersion) {
+        if (expectedVersion != null && noteRepository.existsById(id)) {
+            return new NoteVersionMismatchException("Note " + id + " was modified, expected version " + expectedVersion);
+        }
+        return new NoteNotFoundException("Note not found with id: " + id);
     }
 
     @Override
     public void deleteNote(String id) {
-        if (!noteRepository.existsById(id)) {
-            throw new NoteNotFoundException("Note not found with id: " + id);
+        Optional<Note> deleted = noteRepository.removeReturningTags(id);
+        noteCache.invalidate(id);
+        titleIndex.remove(id);
+        corpusStatistics.invalidate();
+        tagCounter.deleted(deleted.orElseThrow(() -> new NoteNotFoundException("Note not found with id: " + id)));
+    }
+
+    @Override
+    public NoteBulkResponse deleteNotes(NoteFilter filter) {
+        validateFilter(filter);
+        long deleted = noteRepository.deleteMatching(filter.ids(), filter.tag());
+        invalidate(filter);
+        // the deleted notes are only known up front when selected by id
+        if (filter.ids() != null) {
+            filter.ids().forEach(titleIndex::remove);
+        } else {
+            titleIndex.rebuildAsync();
         }
-        noteRepository.deleteById(id);
+        return new NoteBulkResponse(deleted, deleted);
+    }
 
+    @Override
+    public NoteBulkResponse addTag(NoteFilter filter, Tag tag) {
+        validateFilter(filter);
+        UpdateResult result = noteRepository.addTag(filter.ids(), filter.tag(), tag);
+        invalidate(filter);
+        return new NoteBulkResponse(result.getMatchedCount(), result.getModifiedCount());
+    }
+
+    @Override
+    public NoteBulkResponse removeTag(NoteFilter filter, Tag tag) {
+        validateFilter(filter);
+        UpdateResult result = noteRepository.removeTag(filter.ids(), filter.tag(), tag);
+        invalidate(filter);
+        return new NoteBulkResponse(result.getMatchedCount(), result.getModifiedCount());
+    }
+
+    private static void validateFilter(NoteFilter filter) {
+        if (filter == null || (filter.ids() == null && filter.tag() == null)) {
+            throw new InvalidNoteRequestException("Filter must contain ids or a tag");
+        }
+        if (filter.ids() != null && filter.ids().size() > MAX_BATCH_SIZE) {
+            throw new InvalidNoteRequestException("Filter must contain at most " + MAX_BATCH_SIZE + " ids");
+        }
+    }
+
+    // the affected notes are only known up front when selected by id
+    private void invalidate(NoteFilter filter) {
+        corpusStatistics.invalidate();
+        tagCounter.reconcileAsync();
+        if (filter.ids() != null) {
+            filter.ids().forEach(noteCache::invalidate);
+        } else {
+            noteCache.invalidateAll();
+        }
     }
 
     @Override
     public Page<NoteListResponse> listNotes(Pageable pageable, Tag tag) {
-        Page<Note> notes = tag != null
+        Page<NoteSummary> notes = tag != null
                 ? noteRepository.findByTagsContainingOrderByCreatedDateDesc(tag, pageable)
                 : noteRepository.findAllByOrderByCreatedDateDesc(pageable);
         return notes.map(mapper::mapToListResponse);
     }
 
+    @Override
+    public Page<NoteListResponse> listNotes(Pageable pageable, Tag tag, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return listNotes(pageable, tag);
+        }
+        LongSupplier total;
+        if (countMode == CountMode.CONCURRENT) {
+            CompletableFuture<Long> count = totalCounter.countAsync(tag);
+            total = () -> totalCounter.awaitOrEstimate(count, tag);
+        } else {
+            total = () -> totalCounter.estimate(tag);
+        }
+        // the total is only consulted when it cannot be derived from the page itself
+        List<NoteListResponse> content = findSlice(pageable, tag).map(mapper::mapToListResponse).getContent();
+        return PageableExecutionUtils.getPage(content, pageable, total);
+    }
+
+    @Override
+    public NoteSliceResponse listNotesSlice(Pageable pageable, Tag tag) {
+        Slice<NoteListResponse> slice = findSlice(pageable, tag).map(mapper::mapToListResponse);
+        return new NoteSliceResponse(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+
+    @Override
+    public Page<NoteListResponse> listNotesByTags(Pageable pageable, Set<Tag> tags, TagMatch match) {
+        if (tags == null || tags.isEmpty()) {
+            throw new InvalidNoteRequestException("At least one tag is required");
+        }
+        validatePageSize(pageable.getPageSize());
+        return noteRepository.findByTagMask(Tag.mask(tags), match != TagMatch.ANY, pageable)
+                .map(mapper::mapToListResponse);
+    }
+
+    @Override
+    public Page<NoteListResponse> searchNotes(String query, Pageable pageable, Tag tag) {
+        if (query == null || query.isBlank() || query.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidNoteRequestException("Search query must contain between 1 and " + MAX_QUERY_LENGTH + " characters");
+        }
+        validatePageSize(pageable.getPageSize());
+        return noteRepository.search(query.strip(), tag, pageable).map(mapper::mapToListResponse);
+    }
+
+    private Slice<NoteSummary> findSlice(Pageable pageable, Tag tag) {
+        return tag != null
+                ? noteRepository.findSliceByTagsContainingOrderByCreatedDateDesc(tag, pageable)
+                : noteRepository.findSliceByOrderByCreatedDateDesc(pageable);
+    }
+
+    @Override
+    public NoteCursorPageResponse listNotes(String cursor, int size, Tag tag) {
+        validatePageSize(size);
+        NoteCursor after = cursor != null ? NoteCursor.decode(cursor) : null;
+        return toCursorPage(noteRepository.findPageAfter(after, tag, size + 1), size);
+    }
+
+    @Override
+    public NoteCursorPageResponse listNotesFrom(LocalDateTime createdDate, int size, Tag tag) {
+        validatePageSize(size);
+        return toCursorPage(noteRepository.findPageFrom(createdDate, tag, size + 1), size);
+    }
+
+    @Override
+    public List<NoteSuggestion> suggestNotes(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank() || prefix.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidNoteRequestException("Prefix must contain between 1 and " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new InvalidNoteRequestException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return titleIndex.suggest(prefix.stripLeading(), limit);
+    }
+
+    @Override
+    public Stream<NoteDetailResponse> exportNotes(Tag tag, LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidNoteRequestException("Parameter 'from' must be before 'to'");
+        }
+        return noteRepository.streamForExport(tag, from, to).map(mapper::mapToDetailResponse);
+    }
+
+    // one extra note is fetched to learn whether another page exists without counting
+    private NoteCursorPageResponse toCursorPage(List<NoteSummary> notes, int size) {
+        boolean hasNext = notes.size() > size;
+        List<NoteSummary> page = hasNext ? notes.subList(0, size) : notes;
+        String nextCursor = null;
+        if (hasNext) {
+            NoteSummary last = page.getLast();
+            nextCursor = new NoteCursor(last.createdDate(), last.id()).encode();
+        }
+        return new NoteCursorPageResponse(
+                page.stream().map(mapper::mapToListResponse).toList(),
+                nextCursor,
+                hasNext
+        );
+    }
+
+    private static void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidNoteRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
     @Override
     public NoteDetailResponse getNoteById(String id) {
-        Note note = noteRepository.findById(id)
+        Note note = noteCache.get(id, noteRepository::findById)
                 .orElseThrow(() -> new NoteNotFoundException("Note not found with id: " + id));
         return mapper.mapToDetailResponse(note);
     }
 
     @Override
-    public Map<String, Long> getWordStatistics(String id) {
-        Note note = noteRepository.findById(id).orElseThrow(() -> new NoteNotFoundException("Note not found with id: " + id));
-        String text = note.getText().toLowerCase();
-        String cleanedText = NON_WORD_PATTERN.matcher(text).replaceAll("");
-        if (cleanedText.isEmpty()) {return new LinkedHashMap<>();}
-        String[] words = WHITESPACE_PATTERN.split(cleanedText);
-        return Arrays.stream(words)
-                .filter(word -> !word.isEmpty())
-                .collect(Collectors.groupingBy(
-                        Function.identity(),
-                        Collectors.counting()
-                ))
-                .entrySet()
-                .stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
-                        (e1, e2) -> e1,
-                        LinkedHashMap::new
-                ));
+    public NoteRevision getNoteRevision(String id) {
+        return noteCache.getIfPresent(id)
+                .map(NoteRevision::of)
+                .or(() -> noteRepository.findRevisionById(id))
+                .orElseThrow(() -> new NoteNotFoundException("Note not found with id: " + id));
+    }
+
+    @Override
+    public Map<String, Long> getWordStatistics(Tag tag, int limit) {
+        if (limit < 1 || limit > CorpusWordStatistics.MAX_LIMIT) {
+            throw new InvalidNoteRequestException("Limit must be between 1 and " + CorpusWordStatistics.MAX_LIMIT);
+        }
+        return corpusStatistics.top(tag, limit);
+    }
+
+    @Override
+    public Map<Tag, Long> getTagCounts() {
+        return tagCounter.counts();
+    }
+
+    @Override
+    public NoteWordStatistics getWordStatistics(String id) {
+        Note cached = noteCache.getIfPresent(id).orElse(null);
+        if (cached != null && cached.getWordStatistics() != null) {
+            return NoteWordStatistics.of(cached, cached.getWordStatistics());
+        }
+        NoteWordStatistics statistics = noteRepository.findWordStatisticsById(id)
+                .orElseThrow(() -> new NoteNotFoundException("Note not found with id: " + id));
+        if (statistics.wordStatistics() != null) {
+            return statistics;
+        }
+        // written before statistics were stored on write and not backfilled yet
+        Note note = noteRepository.findById(id)
+                .orElseThrow(() -> new NoteNotFoundException("Note not found with id: " + id));
+        Map<String, Long> wordStatistics = WordFrequencyCounter.count(note.readText());
+        noteRepository.saveWordStatistics(Map.of(id, wordStatistics));
+        noteCache.invalidate(id);
+        return NoteWordStatistics.of(note, wordStatistics);
     }
 }
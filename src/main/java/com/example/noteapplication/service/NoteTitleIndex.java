@@ -0,0 +1,398 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.dto.NoteSuggestion;
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.repository.NoteRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process index of note titles answering prefix lookups without querying MongoDB. Titles are matched
+ * case-insensitively and suggested in alphabetical order.
+ * <p>
+ * Most titles live in an immutable snapshot of parallel arrays sorted by lower-cased title: the UTF-8 bytes of
+ * all titles back to back, their offsets and the 12-byte ObjectIds, so a note takes 16 bytes plus its encoded title
+ * (about 48MB per million 32-character titles, published as {@code notes.suggest.index.bytes}). Writes go to a
+ * small sorted overlay of added or retitled notes and a set of deleted ids, both of which take precedence over the
+ * snapshot and are folded into a new one once they hold {@code notes.suggest.compaction-threshold} entries. The new
+ * snapshot is built on the application task executor; writes made meanwhile stay in the overlay.
+ * <p>
+ * The snapshot is built at startup from a scan of ids and titles. Writes made by other application instances are
+ * only picked up by the next rebuild. Notes whose id is not an ObjectId are not indexed.
+ */
+@Slf4j
+@Component
+public class NoteTitleIndex {
+    private final NoteRepository noteRepository;
+    private final Executor executor;
+    private final int compactionThreshold;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Snapshot snapshot = Snapshot.of(List.of());
+    // written notes by sort key, the sort key of each of them by id, and deleted notes; all newer than the snapshot
+    private final NavigableMap<String, Entry> overlay = new TreeMap<>();
+    private final Map<String, String> overlayKeys = new HashMap<>();
+    private final Map<String, Long> deleted = new HashMap<>();
+    private long sequence;
+    // compacting while a scan runs would let the older scan result replace newer writes
+    private int runningScans;
+    private boolean compacting;
+
+    public NoteTitleIndex(NoteRepository noteRepository,
+                          @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor,
+                          @Value("${notes.suggest.compaction-threshold:10000}") int compactionThreshold,
+                          MeterRegistry meterRegistry) {
+        this.noteRepository = noteRepository;
+        this.executor = executor;
+        this.compactionThreshold = compactionThreshold;
+        Gauge.builder("notes.suggest.index.bytes", this, NoteTitleIndex::snapshotBytes)
+                .description("Approximate heap size of the title snapshot, without the overlay of recent writes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Replaces the snapshot with a fresh scan of the collection. Writes recorded while the scan runs are kept.
+     */
+    public void rebuild() {
+        long scanStart;
+        lock.writeLock().lock();
+        try {
+            runningScans++;
+            scanStart = sequence;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Snapshot scanned = null;
+        try {
+            List<Entry> entries = new ArrayList<>();
+            try (Stream<Note> notes = noteRepository.streamTitles()) {
+                Iterator<Note> iterator = notes.iterator();
+                while (iterator.hasNext()) {
+                    Note note = iterator.next();
+                    if (isIndexable(note.getId(), note.getTitle())) {
+                        entries.add(new Entry(normalize(note.getTitle()), note.getId(), note.getTitle(), 0));
+                    }
+                }
+            }
+            scanned = Snapshot.of(entries);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                runningScans--;
+                if (scanned != null) {
+                    install(scanned, scanStart);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Indexed {} note titles in {} bytes", scanned.size(), scanned.bytes());
+    }
+
+    public void rebuildAsync() {
+        executor.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException ex) {
+                log.warn("Rebuilding the note title index failed", ex);
+            }
+        });
+    }
+
+    public void put(String id, String title) {
+        if (!isIndexable(id, title)) {
+            return;
+        }
+        Compaction compaction;
+        lock.writeLock().lock();
+        try {
+            removeFromOverlay(id);
+            deleted.remove(id);
+            Entry entry = new Entry(normalize(title), id, title, ++sequence);
+            overlay.put(entry.sortKey(), entry);
+            overlayKeys.put(id, entry.sortKey());
+            compaction = compactionIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        compactAsync(compaction);
+    }
+
+    public void remove(String id) {
+        Compaction compaction;
+        lock.writeLock().lock();
+        try {
+            removeFromOverlay(id);
+            deleted.put(id, ++sequence);
+            compaction = compactionIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        compactAsync(compaction);
+    }
+
+    /**
+     * Up to {@code limit} notes whose title starts with {@code prefix}, ignoring case, in alphabetical order.
+     */
+    public List<NoteSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        List<NoteSuggestion> suggestions = new ArrayList<>(limit);
+        lock.readLock().lock();
+        try {
+            Iterator<Entry> written = overlay.subMap(key, true, key + Character.MAX_VALUE, false).values().iterator();
+            SnapshotCursor stored = new SnapshotCursor(snapshot, key);
+            Entry nextWritten = written.hasNext() ? written.next() : null;
+            Entry nextStored = stored.next();
+            while (suggestions.size() < limit && (nextWritten != null || nextStored != null)) {
+                if (nextStored == null || (nextWritten != null && nextWritten.compareTo(nextStored) <= 0)) {
+                    suggestions.add(nextWritten.toSuggestion());
+                    nextWritten = written.hasNext() ? written.next() : null;
+                } else {
+                    suggestions.add(nextStored.toSuggestion());
+                    nextStored = stored.next();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return suggestions;
+    }
+
+    long snapshotBytes() {
+        lock.readLock().lock();
+        try {
+            return snapshot.bytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // writes recorded before the scan started are part of the scanned snapshot
+    private void install(Snapshot scanned, long scanStart) {
+        snapshot = scanned;
+        overlay.values().removeIf(entry -> entry.sequence() <= scanStart);
+        overlayKeys.values().retainAll(overlay.keySet());
+        deleted.values().removeIf(deletedAt -> deletedAt <= scanStart);
+    }
+
+    // copies the overlay under the write lock, the snapshot is immutable and read later without it
+    private Compaction compactionIfNeeded() {
+        if (compacting || runningScans > 0 || overlay.size() + deleted.size() < compactionThreshold) {
+            return null;
+        }
+        compacting = true;
+        Set<String> shadowed = new HashSet<>(overlayKeys.keySet());
+        shadowed.addAll(deleted.keySet());
+        return new Compaction(snapshot, List.copyOf(overlay.values()), shadowed, sequence);
+    }
+
+    private void compactAsync(Compaction compaction) {
+        if (compaction == null) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    compact(compaction);
+                } catch (RuntimeException ex) {
+                    log.warn("Compacting the note title index failed", ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            finishCompaction(null, compaction);
+        }
+    }
+
+    private void compact(Compaction compaction) {
+        Snapshot compacted = null;
+        try {
+            Snapshot base = compaction.snapshot();
+            List<Entry> entries = new ArrayList<>(base.size() + compaction.written().size());
+            for (int index = 0; index < base.size(); index++) {
+                String id = base.id(index);
+                if (!compaction.shadowed().contains(id)) {
+                    String title = base.title(index);
+                    entries.add(new Entry(normalize(title), id, title, 0));
+                }
+            }
+            entries.addAll(compaction.written());
+            compacted = Snapshot.of(entries);
+        } finally {
+            finishCompaction(compacted, compaction);
+        }
+    }
+
+    // a rebuild installed meanwhile is newer than the compacted snapshot, which is then dropped
+    private void finishCompaction(Snapshot compacted, Compaction compaction) {
+        lock.writeLock().lock();
+        try {
+            compacting = false;
+            if (compacted != null && snapshot == compaction.snapshot()) {
+                install(compacted, compaction.start());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeFromOverlay(String id) {
+        String sortKey = overlayKeys.remove(id);
+        if (sortKey != null) {
+            overlay.remove(sortKey);
+        }
+    }
+
+    // a snapshot entry is hidden once its note was written or deleted after the snapshot was taken
+    private boolean isShadowed(String id) {
+        return overlayKeys.containsKey(id) || deleted.containsKey(id);
+    }
+
+    private static boolean isIndexable(String id, String title) {
+        return id != null && title != null && ObjectId.isValid(id);
+    }
+
+    static String normalize(String title) {
+        return title.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(String key, String id, String title, long sequence) implements Comparable<Entry> {
+        String sortKey() {
+            return key + '\0' + id;
+        }
+
+        NoteSuggestion toSuggestion() {
+            return new NoteSuggestion(id, title);
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byKey = key.compareTo(other.key);
+            return byKey != 0 ? byKey : id.compareTo(other.id);
+        }
+    }
+
+    /**
+     * Visible snapshot entries starting with a prefix, in order.
+     */
+    private final class SnapshotCursor {
+        private final Snapshot snapshot;
+        private final String prefix;
+        private int position;
+
+        private SnapshotCursor(Snapshot snapshot, String prefix) {
+            this.snapshot = snapshot;
+            this.prefix = prefix;
+            this.position = snapshot.firstAtLeast(prefix);
+        }
+
+        private Entry next() {
+            while (position < snapshot.size()) {
+                int index = position++;
+                String title = snapshot.title(index);
+                String key = normalize(title);
+                if (!key.startsWith(prefix)) {
+                    position = snapshot.size();
+                    return null;
+                }
+                String id = snapshot.id(index);
+                if (!isShadowed(id)) {
+                    return new Entry(key, id, title, 0);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * State a compaction folds together: the snapshot, the overlay entries and the ids they and the deletions hide,
+     * as of write {@code start}.
+     */
+    private record Compaction(Snapshot snapshot, List<Entry> written, Set<String> shadowed, long start) {
+    }
+
+    private record Snapshot(byte[] titles, int[] offsets, byte[] ids) {
+        private static final int ID_BYTES = 12;
+
+        static Snapshot of(List<Entry> entries) {
+            List<Entry> sorted = new ArrayList<>(entries);
+            sorted.sort(null);
+            byte[][] encoded = new byte[sorted.size()][];
+            int length = 0;
+            for (int i = 0; i < encoded.length; i++) {
+                encoded[i] = sorted.get(i).title().getBytes(StandardCharsets.UTF_8);
+                length += encoded[i].length;
+            }
+            byte[] titles = new byte[length];
+            int[] offsets = new int[encoded.length + 1];
+            byte[] ids = new byte[encoded.length * ID_BYTES];
+            for (int i = 0; i < encoded.length; i++) {
+                System.arraycopy(encoded[i], 0, titles, offsets[i], encoded[i].length);
+                offsets[i + 1] = offsets[i] + encoded[i].length;
+                new ObjectId(sorted.get(i).id()).putToByteBuffer(ByteBuffer.wrap(ids, i * ID_BYTES, ID_BYTES));
+            }
+            return new Snapshot(titles, offsets, ids);
+        }
+
+        int size() {
+            return offsets.length - 1;
+        }
+
+        long bytes() {
+            return titles.length + 4L * offsets.length + ids.length;
+        }
+
+        String title(int index) {
+            return new String(titles, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+        }
+
+        String id(int index) {
+            return new ObjectId(ByteBuffer.wrap(ids, index * ID_BYTES, ID_BYTES)).toHexString();
+        }
+
+        // binary search decoding about log2(size) titles
+        int firstAtLeast(String key) {
+            int low = 0;
+            int high = size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (normalize(title(middle)).compareTo(key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.model.Tag;
+import com.example.noteapplication.repository.NoteRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+public class NoteTotalCounter {
+    private final NoteRepository noteRepository;
+    private final Executor executor;
+    private final long estimateTtlNanos;
+    private final long concurrentTimeoutNanos;
+    private final Map<Tag, CachedCount> tagCounts = new EnumMap<>(Tag.class);
+
+    public NoteTotalCounter(NoteRepository noteRepository,
+                            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor,
+                            @Value("${notes.count.estimate-ttl:30s}") Duration estimateTtl,
+                            @Value("${notes.count.concurrent-timeout:2s}") Duration concurrentTimeout) {
+        this.noteRepository = noteRepository;
+        this.executor = executor;
+        this.estimateTtlNanos = estimateTtl.toNanos();
+        this.concurrentTimeoutNanos = concurrentTimeout.toNanos();
+    }
+
+    public long count(Tag tag) {
+        return tag != null ? noteRepository.countByTagsContaining(tag) : noteRepository.count();
+    }
+
+    public CompletableFuture<Long> countAsync(Tag tag) {
+        return CompletableFuture.supplyAsync(() -> count(tag), executor);
+    }
+
+    /**
+     * The result of {@link #countAsync}, or the estimate if the count has not finished within
+     * {@code notes.count.concurrent-timeout}, e.g. while the executor is busy. The count is left to finish.
+     */
+    public long awaitOrEstimate(CompletableFuture<Long> count, Tag tag) {
+        try {
+            return count.get(concurrentTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            return estimate(tag);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return estimate(tag);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : new CompletionException(ex.getCause());
+        }
+    }
+
+    public long estimate(Tag tag) {
+        if (tag == null) {
+            return noteRepository.estimatedCount();
+        }
+        long now = System.nanoTime();
+        synchronized (tagCounts) {
+            CachedCount cached = tagCounts.get(tag);
+            if (cached != null && now - cached.countedAt() < estimateTtlNanos) {
+                return cached.value();
+            }
+        }
+        long value = count(tag);
+        synchronized (tagCounts) {
+            tagCounts.put(tag, new CachedCount(value, now));
+        }
+        return value;
+    }
+
+    private record CachedCount(long value, long countedAt) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.dto.NoteCreateRequest;
+import com.example.noteapplication.dto.NoteDetailResponse;
+import com.example.noteapplication.dto.NoteListResponse;
+import com.example.noteapplication.dto.NoteUpdateRequest;
+import com.example.noteapplication.dto.TagMatch;
+import com.example.noteapplication.model.NoteWordStatistics;
+import com.example.noteapplication.model.Tag;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Non-blocking counterpart of {@link NoteService} for the {@code reactive} profile.
+ */
+public interface ReactiveNoteService {
+    Mono<NoteDetailResponse> createNote(NoteCreateRequest request);
+
+    Mono<NoteDetailResponse> updateNote(String id, NoteUpdateRequest request, Long expectedVersion);
+
+    Mono<Void> deleteNote(String id);
+
+    Mono<Page<NoteListResponse>> listNotes(Pageable pageable, Tag tag);
+
+    Mono<Page<NoteListResponse>> listNotesByTags(Pageable pageable, Set<Tag> tags, TagMatch match);
+
+    Mono<NoteDetailResponse> getNoteById(String id);
+
+    /**
+     * Word frequencies of a note's text, with the version and dates of the note they were read with.
+     */
+    Mono<NoteWordStatistics> getWordStatistics(String id);
+}
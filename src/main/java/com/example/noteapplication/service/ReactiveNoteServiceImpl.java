@@ -0,0 +1,116 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.dto.NoteCreateRequest;
+import com.example.noteapplication.dto.NoteDetailResponse;
+import com.example.noteapplication.dto.NoteListResponse;
+import com.example.noteapplication.dto.NoteUpdateRequest;
+import com.example.noteapplication.dto.TagMatch;
+import com.example.noteapplication.exception.InvalidNoteRequestException;
+import com.example.noteapplication.exception.NoteNotFoundException;
+import com.example.noteapplication.exception.NoteVersionMismatchException;
+import com.example.noteapplication.mapper.NoteMapper;
+import com.example.noteapplication.model.NoteSummary;
+import com.example.noteapplication.model.NoteWordStatistics;
+import com.example.noteapplication.model.Tag;
+import com.example.noteapplication.repository.ReactiveNoteRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveNoteServiceImpl implements ReactiveNoteService {
+    private final ReactiveNoteRepository noteRepository;
+    private final NoteMapper mapper;
+    private final NoteFactory noteFactory;
+
+    @Override
+    public Mono<NoteDetailResponse> createNote(NoteCreateRequest request) {
+        return Mono.fromSupplier(() -> noteFactory.newNote(request, LocalDateTime.now()))
+                .flatMap(noteRepository::save)
+                .map(mapper::mapToDetailResponse);
+    }
+
+    @Override
+    public Mono<NoteDetailResponse> updateNote(String id, NoteUpdateRequest request, Long expectedVersion) {
+        return Mono.fromSupplier(() -> WordFrequencyCounter.count(request.text()))
+                .flatMap(wordStatistics -> noteRepository.updateContent(id, expectedVersion, request.title(),
+                        request.text(), wordStatistics, request.tags()))
+                .switchIfEmpty(Mono.defer(() -> updateFailure(id, expectedVersion)))
+                .map(mapper::mapToDetailResponse);
+    }
+
+    // only a failed conditional update needs to tell a missing note from a newer version
+    private <T> Mono<T> updateFailure(String id, Long expectedVersion) {
+        Mono<Boolean> exists = expectedVersion != null ? noteRepository.existsById(id) : Mono.just(false);
+        return exists.flatMap(found -> Mono.error(found
+                ? new NoteVersionMismatchException("Note " + id + " was modified, expected version " + expectedVersion)
+                : new NoteNotFoundException("Note not found with id: " + id)));
+    }
+
+    @Override
+    public Mono<Void> deleteNote(String id) {
+        return noteRepository.removeById(id)
+                .filter(deleted -> deleted > 0)
+                .switchIfEmpty(Mono.error(() -> new NoteNotFoundException("Note not found with id: " + id)))
+                .then();
+    }
+
+    @Override
+    public Mono<Page<NoteListResponse>> listNotes(Pageable pageable, Tag tag) {
+        Flux<NoteSummary> notes = tag != null
+                ? noteRepository.findByTagsContainingOrderByCreatedDateDesc(tag, pageable)
+                : noteRepository.findAllByOrderByCreatedDateDesc(pageable);
+        Mono<Long> total = tag != null ? noteRepository.countByTagsContaining(tag) : noteRepository.count();
+        // page and count queries run concurrently
+        return Mono.zip(notes.map(mapper::mapToListResponse).collectList(), total)
+                .map(pageAndTotal -> new PageImpl<>(pageAndTotal.getT1(), pageable, pageAndTotal.getT2()));
+    }
+
+    @Override
+    public Mono<Page<NoteListResponse>> listNotesByTags(Pageable pageable, Set<Tag> tags, TagMatch match) {
+        if (tags == null || tags.isEmpty()) {
+            return Mono.error(() -> new InvalidNoteRequestException("At least one tag is required"));
+        }
+        long mask = Tag.mask(tags);
+        boolean matchAll = match != TagMatch.ANY;
+        return Mono.zip(noteRepository.findByTagMask(mask, matchAll, pageable).map(mapper::mapToListResponse)
+                                .collectList(),
+                        noteRepository.countByTagMask(mask, matchAll))
+                .map(pageAndTotal -> new PageImpl<>(pageAndTotal.getT1(), pageable, pageAndTotal.getT2()));
+    }
+
+    @Override
+    public Mono<NoteDetailResponse> getNoteById(String id) {
+        return noteRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NoteNotFoundException("Note not found with id: " + id)))
+                .map(mapper::mapToDetailResponse);
+    }
+
+    @Override
+    public Mono<NoteWordStatistics> getWordStatistics(String id) {
+        return noteRepository.findWordStatisticsById(id)
+                .switchIfEmpty(Mono.error(() -> new NoteNotFoundException("Note not found with id: " + id)))
+                .flatMap(statistics -> statistics.wordStatistics() != null
+                        ? Mono.just(statistics)
+                        : computeWordStatistics(id));
+    }
+
+    // written before statistics were stored on write and not backfilled yet
+    private Mono<NoteWordStatistics> computeWordStatistics(String id) {
+        return noteRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NoteNotFoundException("Note not found with id: " + id)))
+                .map(note -> NoteWordStatistics.of(note, WordFrequencyCounter.count(note.readText())))
+                .flatMap(statistics -> noteRepository.saveWordStatistics(id, statistics.wordStatistics())
+                        .thenReturn(statistics));
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.Tag;
+import com.example.noteapplication.repository.NoteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Number of notes per tag, read from one counter document per tag instead of counting notes.
+ * <p>
+ * Single-note writes adjust the counters of the tags they add or remove with an {@code $inc} right after the note
+ * is written. Bulk deletes and bulk tag changes do not know the affected notes and schedule a reconciliation
+ * instead, which overwrites the counters with an aggregation over all notes. Reconciliation also runs at startup
+ * and every {@code notes.tags.reconcile-interval}, so counters left off by a failed increment, by a write racing
+ * with a reconciliation or by writes through the reactive API are corrected within one interval.
+ */
+@Slf4j
+@Component
+public class TagCounter {
+    private final NoteRepository noteRepository;
+    private final Executor executor;
+
+    public TagCounter(NoteRepository noteRepository,
+                      @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor) {
+        this.noteRepository = noteRepository;
+        this.executor = executor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${notes.tags.reconcile-interval:10m}",
+            initialDelayString = "${notes.tags.reconcile-interval:10m}")
+    public void reconcileScheduled() {
+        try {
+            reconcile();
+        } catch (RuntimeException ex) {
+            log.warn("Reconciling tag counts failed", ex);
+        }
+    }
+
+    /**
+     * Overwrites every counter with the number of notes carrying its tag. Returns the number of corrected counters.
+     */
+    public int reconcile() {
+        Map<Tag, Long> stored = noteRepository.findTagCounts();
+        Map<Tag, Long> actual = withAllTags(noteRepository.countByTag());
+        noteRepository.replaceTagCounts(actual);
+        int corrected = 0;
+        for (Map.Entry<Tag, Long> count : actual.entrySet()) {
+            if (!count.getValue().equals(stored.get(count.getKey()))) {
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            log.info("Corrected {} tag counters to {}", corrected, actual);
+        }
+        return corrected;
+    }
+
+    public void reconcileAsync() {
+        executor.execute(this::reconcileScheduled);
+    }
+
+    public void created(Collection<Note> notes) {
+        Map<Tag, Long> deltas = new EnumMap<>(Tag.class);
+        for (Note note : notes) {
+            if (note.getTags() != null) {
+                note.getTags().forEach(tag -> deltas.merge(tag, 1L, Long::sum));
+            }
+        }
+        noteRepository.incrementTagCounts(deltas);
+    }
+
+    /**
+     * Counts the tags added to and removed from a note; {@code null} tags were left unchanged.
+     */
+    public void updated(Set<Tag> previousTags, Set<Tag> tags) {
+        if (tags == null) {
+            return;
+        }
+        Map<Tag, Long> deltas = new EnumMap<>(Tag.class);
+        for (Tag tag : tags) {
+            if (!previousTags.contains(tag)) {
+                deltas.put(tag, 1L);
+            }
+        }
+        for (Tag tag : previousTags) {
+            if (!tags.contains(tag)) {
+                deltas.put(tag, -1L);
+            }
+        }
+        noteRepository.incrementTagCounts(deltas);
+    }
+
+    public void deleted(Note note) {
+        if (note.getTags() == null) {
+            return;
+        }
+        Map<Tag, Long> deltas = new EnumMap<>(Tag.class);
+        note.getTags().forEach(tag -> deltas.put(tag, -1L));
+        noteRepository.incrementTagCounts(deltas);
+    }
+
+    /**
+     * Number of notes carrying each tag, 0 for tags no note carries.
+     */
+    public Map<Tag, Long> counts() {
+        return withAllTags(noteRepository.findTagCounts());
+    }
+
+    private static Map<Tag, Long> withAllTags(Map<Tag, Long> counts) {
+        Map<Tag, Long> all = new EnumMap<>(Tag.class);
+        for (Tag tag : Tag.values()) {
+            all.put(tag, counts.getOrDefault(tag, 0L));
+        }
+        return all;
+    }
+}
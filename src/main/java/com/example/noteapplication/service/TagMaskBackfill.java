@@ -0,0 +1,64 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.repository.NoteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Stores the tag mask of notes written before it was maintained on write. Until then such notes are not
+ * found by tag mask queries. Runs while requests are served: masks are computed from the tags at the time of
+ * the write and only stored on notes that still have none, so concurrent tag changes are kept.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagMaskBackfill {
+    private final NoteRepository noteRepository;
+
+    @Value("${notes.tag-mask.backfill.enabled:true}")
+    private boolean enabled;
+    @Value("${notes.tag-mask.backfill.batch-size:1000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    public long backfill() {
+        long updated = 0;
+        List<String> batch = new ArrayList<>(batchSize);
+        try (Stream<Note> notes = noteRepository.streamWithoutTagMask()) {
+            Iterator<Note> iterator = notes.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next().getId());
+                if (batch.size() >= batchSize) {
+                    updated += flush(batch);
+                }
+            }
+        }
+        updated += flush(batch);
+        if (updated > 0) {
+            log.info("Backfilled tag masks for {} notes", updated);
+        }
+        return updated;
+    }
+
+    private long flush(List<String> batch) {
+        long updated = noteRepository.saveTagMasks(batch);
+        batch.clear();
+        return updated;
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.noteapplication.service;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Case-insensitive word frequencies of a text, sorted by frequency in descending order
+ * (words with equal frequency keep the order of their first occurrence).
+ * Only Latin and Ukrainian Cyrillic letters form words, whitespace separates them and
+ * any other character is dropped, so {@code "don't"} counts as {@code "dont"}.
+ * <p>
+ * The text is scanned once: characters are lowercased and classified through a lookup table and
+ * written to a shared buffer, and words are counted in an open-addressing table keyed by their
+ * range in that buffer. A String is created only once per distinct word, when building the result.
+ */
+public final class WordFrequencyCounter {
+    private static final byte OTHER = 0;
+    private static final byte LETTER = 1;
+    private static final byte SPACE = 2;
+    // covers ASCII, Cyrillic and ґ (U+0491), the highest letter counted as part of a word
+    private static final int TABLE_SIZE = 'ґ' + 1;
+    private static final byte[] CHAR_CLASS = new byte[TABLE_SIZE];
+    private static final char[] LOWER_CASE = new char[TABLE_SIZE];
+
+    static {
+        for (char c = 0; c < TABLE_SIZE; c++) {
+            char lower = Character.toLowerCase(c);
+            LOWER_CASE[c] = lower;
+            CHAR_CLASS[c] = isLetter(lower) ? LETTER : OTHER;
+        }
+        // the whitespace of the \s regular expression class
+        for (char c : new char[]{' ', '\t', '\n', '\u000B', '\f', '\r'}) {
+            CHAR_CLASS[c] = SPACE;
+        }
+    }
+
+    private WordFrequencyCounter() {
+    }
+
+    public static Map<String, Long> count(String text) {
+        WordTable words = new WordTable(text.length());
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < TABLE_SIZE) {
+                byte charClass = CHAR_CLASS[c];
+                if (charClass == LETTER) {
+                    words.append(LOWER_CASE[c]);
+                } else if (charClass == SPACE) {
+                    words.endWord();
+                }
+            } else {
+                char lower = Character.toLowerCase(c);
+                if (isLetter(lower)) {
+                    words.append(lower);
+                }
+            }
+        }
+        words.endWord();
+        return words.toSortedMap();
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'а' && c <= 'я') || c == 'і' || c == 'є' || c == 'ї' || c == 'ґ';
+    }
+
+    private static final class WordTable {
+        private char[] chars;
+        private int charCount;
+        private int wordStart;
+        private int wordHash;
+
+        private int[] starts = new int[16];
+        private int[] lengths = new int[16];
+        private int[] hashes = new int[16];
+        private int[] counts = new int[16];
+        private int size;
+
+        // entry index + 1, 0 marks a free slot
+        private int[] slots = new int[32];
+
+        private WordTable(int textLength) {
+            chars = new char[Math.clamp(textLength, 16, 4096)];
+        }
+
+        private void append(char c) {
+            if (charCount == chars.length) {
+                chars = Arrays.copyOf(chars, chars.length * 2);
+            }
+            chars[charCount++] = c;
+            wordHash = 31 * wordHash + c;
+        }
+
+        private void endWord() {
+            int length = charCount - wordStart;
+            if (length > 0) {
+                add(wordStart, length, wordHash);
+            }
+            wordStart = charCount;
+            wordHash = 0;
+        }
+
+        private void add(int start, int length, int hash) {
+            int mask = slots.length - 1;
+            int slot = spread(hash) & mask;
+            for (int entry = slots[slot]; entry != 0; entry = slots[slot]) {
+                int index = entry - 1;
+                if (hashes[index] == hash && lengths[index] == length
+                        && Arrays.equals(chars, starts[index], starts[index] + length, chars, start, start + length)) {
+                    counts[index]++;
+                    // the word is already stored, reuse its buffer space
+                    charCount = start;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size == starts.length) {
+                int capacity = size * 2;
+                starts = Arrays.copyOf(starts, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+                hashes = Arrays.copyOf(hashes, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+            starts[size] = start;
+            lengths[size] = length;
+            hashes[size] = hash;
+            counts[size] = 1;
+            slots[slot] = ++size;
+            if (size * 2 > slots.length) {
+                rehash();
+            }
+        }
+
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            int mask = slots.length - 1;
+            for (int index = 0; index < size; index++) {
+                int slot = spread(hashes[index]) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = index + 1;
+            }
+        }
+
+        private Map<String, Long> toSortedMap() {
+            // count descending, then first occurrence, packed into one primitive sort key
+            long[] order = new long[size];
+            for (int index = 0; index < size; index++) {
+                order[index] = ((long) (Integer.MAX_VALUE - counts[index]) << 32) | index;
+            }
+            Arrays.sort(order);
+            Map<String, Long> result = LinkedHashMap.newLinkedHashMap(size);
+            for (long key : order) {
+                int index = (int) key;
+                result.put(new String(chars, starts[index], lengths[index]), (long) counts[index]);
+            }
+            return result;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
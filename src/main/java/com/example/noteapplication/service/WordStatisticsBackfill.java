@@ -0,0 +1,64 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.repository.NoteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Computes and stores word statistics for notes written before they were maintained on write.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WordStatisticsBackfill {
+    private final NoteRepository noteRepository;
+
+    @Value("${notes.word-statistics.backfill.enabled:true}")
+    private boolean enabled;
+    @Value("${notes.word-statistics.backfill.batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    public long backfill() {
+        long updated = 0;
+        Map<String, Map<String, Long>> batch = new HashMap<>();
+        try (Stream<Note> notes = noteRepository.streamWithoutWordStatistics()) {
+            Iterator<Note> iterator = notes.iterator();
+            while (iterator.hasNext()) {
+                Note note = iterator.next();
+                String text = note.readText();
+                batch.put(note.getId(), WordFrequencyCounter.count(text != null ? text : ""));
+                if (batch.size() >= batchSize) {
+                    updated += flush(batch);
+                }
+            }
+        }
+        updated += flush(batch);
+        if (updated > 0) {
+            log.info("Backfilled word statistics for {} notes", updated);
+        }
+        return updated;
+    }
+
+    private long flush(Map<String, Map<String, Long>> batch) {
+        long saved = noteRepository.saveWordStatistics(batch);
+        batch.clear();
+        return saved;
+    }
+}
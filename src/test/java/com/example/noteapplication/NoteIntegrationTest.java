@@ -6,7 +6,12 @@ import com.example.noteapplication.dto.NoteUpdateRequest;
 import com.example.noteapplication.model.Note;
 import com.example.noteapplication.model.Tag;
 import com.example.noteapplication.repository.NoteRepository;
+import com.example.noteapplication.service.TagCounter;
+import com.example.noteapplication.service.TagMaskBackfill;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +24,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.testcontainers.containers.MongoDBContainer;
@@ -26,13 +32,17 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -49,6 +59,7 @@ class NoteIntegrationTest {
     @DynamicPropertySource
     static void setProperties(DynamicPropertyRegistry registry) {
         registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+        registry.add("notes.text.compression.enabled", () -> "true");
         log.info("Testcontainers MongoDB URI: {}", mongoDBContainer.getReplicaSetUrl());
     }
 
@@ -61,12 +72,32 @@ class NoteIntegrationTest {
     @Autowired
     private NoteRepository noteRepository;
 
+    @Autowired
+    private TagCounter tagCounter;
+
+    @Autowired
+    private TagMaskBackfill tagMaskBackfill;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
         noteRepository.deleteAll();
     }
 
     // Helper methods
+    private long serviceCalls(String method) {
+        Timer timer = meterRegistry.find("notes.service").tag("method", method).timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    private double notFoundErrors() {
+        Counter counter = meterRegistry.find("notes.service.errors").tag("method", "getNoteById")
+                .tag("exception", "NoteNotFoundException").counter();
+        return counter != null ? counter.count() : 0;
+    }
+
     private Note createAndSaveNote(String title, String text, Set<Tag> tags, LocalDateTime createdDate) {
         return noteRepository.save(Note.builder()
                 .title(title)
@@ -105,6 +136,70 @@ class NoteIntegrationTest {
         Assertions.assertEquals(1, noteRepository.count());
     }
 
+    @Test
+    @DisplayName("Should add a tag to all notes with another tag and delete them in bulk")
+    void shouldRetagAndDeleteNotesInBulk() throws Exception {
+        createAndSaveNote("Business 1", "Text", Set.of(Tag.BUSINESS), LocalDateTime.now());
+        createAndSaveNote("Business 2", "Text", Set.of(Tag.BUSINESS, Tag.IMPORTANT), LocalDateTime.now());
+        createAndSaveNote("Personal", "Text", Set.of(Tag.PERSONAL), LocalDateTime.now());
+
+        mockMvc.perform(post("/api/v1/notes/batch/tags/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\": {\"tag\": \"BUSINESS\"}, \"tag\": \"IMPORTANT\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(2))
+                .andExpect(jsonPath("$.affected").value(1));
+
+        mockMvc.perform(post("/api/v1/notes/batch/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tag\": \"IMPORTANT\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+
+        Assertions.assertEquals(1, noteRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should create valid notes of a batch and report invalid ones")
+    void shouldCreateNotesInBatch() throws Exception {
+        List<NoteCreateRequest> requests = List.of(
+                new NoteCreateRequest("First", "First batch note", Set.of(Tag.BUSINESS)),
+                new NoteCreateRequest("", "Note without a title", null),
+                new NoteCreateRequest("Third", "Third batch note", null)
+        );
+
+        mockMvc.perform(post("/api/v1/notes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.results[1].status").value("INVALID"))
+                .andExpect(jsonPath("$.results[2].id").exists());
+
+        Assertions.assertEquals(2, noteRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should import notes from NDJSON and report rejected lines")
+    void shouldImportNotesFromNdjson() throws Exception {
+        String ndjson = """
+                {"title": "First", "text": "First imported note", "tags": ["BUSINESS"]}
+                {"title": "", "text": "Note without a title"}
+                {"title": "Third", "text": "Third imported note"}
+                """;
+
+        mockMvc.perform(post("/api/v1/notes/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.lines").value(3))
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.rejections[0].line").value(2))
+                .andExpect(jsonPath("$.rejections[0].status").value("INVALID"));
+
+        Assertions.assertEquals(2, noteRepository.count());
+    }
+
     @Test
     @DisplayName("Should create note without tags")
     void shouldCreateNoteWithoutTags() throws Exception {
@@ -125,7 +220,7 @@ class NoteIntegrationTest {
     }
 
     @Test
-    @DisplayName("Should handle note with large text content")
+    @DisplayName("Should store large text content compressed and serve it in full")
     void shouldHandleNoteWithLargeText() throws Exception {
         String largeText = "word " .repeat(10000);
         NoteCreateRequest request = new NoteCreateRequest(
@@ -141,6 +236,13 @@ class NoteIntegrationTest {
                 .andExpect(jsonPath("$.title").value("Large Note"));
 
         Assertions.assertEquals(1, noteRepository.count());
+        Note stored = noteRepository.findAll().get(0);
+        assertThat(stored.getText()).isNull();
+        assertThat(stored.getCompressedText()).hasSizeLessThan(largeText.length() / 10);
+
+        mockMvc.perform(get("/api/v1/notes/" + stored.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.text").value(largeText));
     }
 
     // Validation tests
@@ -247,6 +349,46 @@ class NoteIntegrationTest {
                 .andExpect(jsonPath("$.content[0].title").value("Business Meeting"));
     }
 
+    @Test
+    @DisplayName("Should filter notes by all or any of several tags after migrating their tag masks")
+    void shouldFilterNotesBySeveralTags() throws Exception {
+        createAndSaveNote("Urgent deal", "Sign the contract", Set.of(Tag.BUSINESS, Tag.IMPORTANT));
+        createAndSaveNote("Business Meeting", "Quarterly review meeting", Set.of(Tag.BUSINESS));
+        createAndSaveNote("Personal Reminder", "Doctor appointment", Set.of(Tag.PERSONAL));
+        tagMaskBackfill.backfill();
+        mockMvc.perform(post("/api/v1/notes/batch/tags/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"filter": {"tag": "PERSONAL"}, "tag": "IMPORTANT"}
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/notes?tags=BUSINESS,IMPORTANT&match=ALL"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Urgent deal"));
+        mockMvc.perform(get("/api/v1/notes?tags=PERSONAL,IMPORTANT&match=ANY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    @DisplayName("Should give notes not backfilled yet their whole tag mask when retagging them")
+    void shouldCompleteTagMasksWhenRetagging() throws Exception {
+        createAndSaveNote("Urgent deal", "Sign the contract", Set.of(Tag.BUSINESS));
+        mockMvc.perform(post("/api/v1/notes/batch/tags/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"filter": {"tag": "BUSINESS"}, "tag": "IMPORTANT"}
+                                """))
+                .andExpect(status().isOk());
+
+        Assertions.assertEquals(0, tagMaskBackfill.backfill());
+        mockMvc.perform(get("/api/v1/notes?tags=BUSINESS,IMPORTANT&match=ALL"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
     @Test
     @DisplayName("Should return empty list when filtering by non-existent tag")
     void shouldReturnEmptyListWhenFilteringByNonExistentTag() throws Exception {
@@ -258,6 +400,197 @@ class NoteIntegrationTest {
                 .andExpect(jsonPath("$.totalElements").value(0));
     }
 
+    @Test
+    @DisplayName("Should walk all notes with cursor pagination, breaking date ties by id")
+    void shouldWalkNotesWithCursorPagination() throws Exception {
+        LocalDateTime sameDate = LocalDateTime.of(2024, 11, 9, 14, 30);
+        IntStream.rangeClosed(1, 5).forEach(i ->
+                createAndSaveNote("Note " + i, "Content " + i, Set.of(Tag.PERSONAL), sameDate));
+
+        MvcResult first = mockMvc.perform(get("/api/v1/notes/cursor?size=3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn();
+        String cursor = objectMapper.readTree(first.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/v1/notes/cursor?size=3&cursor=" + cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[1].title").value("Note 1"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    @DisplayName("Should export notes filtered by tag and date range as NDJSON, newest first")
+    void shouldExportNotesAsNdjson() throws Exception {
+        createAndSaveNote("Old", "Content", Set.of(Tag.BUSINESS), LocalDateTime.of(2024, 10, 1, 10, 0));
+        createAndSaveNote("November 1", "Content", Set.of(Tag.BUSINESS), LocalDateTime.of(2024, 11, 1, 10, 0));
+        createAndSaveNote("November 2", "Content", Set.of(Tag.BUSINESS), LocalDateTime.of(2024, 11, 2, 10, 0));
+        createAndSaveNote("Personal", "Content", Set.of(Tag.PERSONAL), LocalDateTime.of(2024, 11, 3, 10, 0));
+
+        MvcResult export = mockMvc.perform(get("/api/v1/notes/export?tag=BUSINESS&from=2024-11-01T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> titles = body.lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readTree(line).get("title").asText();
+                    } catch (Exception ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                })
+                .toList();
+        Assertions.assertEquals(List.of("November 2", "November 1"), titles);
+    }
+
+    @Test
+    @DisplayName("Should count words over all notes of a tag and refresh after a write")
+    void shouldCountWordsOverNotesOfTag() throws Exception {
+        mockMvc.perform(post("/api/v1/notes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new NoteCreateRequest("First", "budget review budget", Set.of(Tag.BUSINESS)))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/v1/notes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new NoteCreateRequest("Second", "holiday budget", Set.of(Tag.PERSONAL)))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/notes/stats?tag=BUSINESS&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.budget").value(2))
+                .andExpect(jsonPath("$.review").doesNotExist());
+
+        mockMvc.perform(post("/api/v1/notes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new NoteCreateRequest("Third", "budget", Set.of(Tag.BUSINESS)))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/notes/stats?tag=BUSINESS&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.budget").value(3));
+    }
+
+    @Test
+    @DisplayName("Should suggest created notes by title prefix and forget deleted ones")
+    void shouldSuggestNotesByTitlePrefix() throws Exception {
+        NoteCreateRequest request = new NoteCreateRequest("Suggested title", "Content", null);
+        String response = mockMvc.perform(post("/api/v1/notes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(response).get("id").asText();
+
+        mockMvc.perform(get("/api/v1/notes/suggest?prefix=sugg"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(id));
+
+        mockMvc.perform(delete("/api/v1/notes/" + id))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/notes/suggest?prefix=sugg"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Should count notes per tag on create, update and delete and reconcile stray writes")
+    void shouldMaintainTagCounts() throws Exception {
+        tagCounter.reconcile();
+        String response = mockMvc.perform(post("/api/v1/notes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new NoteCreateRequest("Counted", "Content", Set.of(Tag.BUSINESS, Tag.IMPORTANT)))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(response).get("id").asText();
+        mockMvc.perform(put("/api/v1/notes/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new NoteUpdateRequest("Counted", "Content", Set.of(Tag.BUSINESS, Tag.PERSONAL)))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/notes/tags/counts"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"BUSINESS\":1,\"PERSONAL\":1,\"IMPORTANT\":0}", JsonCompareMode.STRICT));
+
+        mockMvc.perform(delete("/api/v1/notes/" + id))
+                .andExpect(status().isNoContent());
+        // written around the counters
+        createAndSaveNote("Stray", "Content", Set.of(Tag.PERSONAL), LocalDateTime.now());
+        mockMvc.perform(get("/api/v1/notes/tags/counts"))
+                .andExpect(content().json("{\"BUSINESS\":0,\"PERSONAL\":0,\"IMPORTANT\":0}", JsonCompareMode.STRICT));
+
+        tagCounter.reconcile();
+        mockMvc.perform(get("/api/v1/notes/tags/counts"))
+                .andExpect(content().json("{\"BUSINESS\":0,\"PERSONAL\":1,\"IMPORTANT\":0}", JsonCompareMode.STRICT));
+    }
+
+    @Test
+    @DisplayName("Should time service operations, count their failures and time Mongo commands per collection")
+    void shouldRecordServiceAndMongoCommandMetrics() throws Exception {
+        // the registry is shared by all tests of the context
+        long created = serviceCalls("createNote");
+        double notFound = notFoundErrors();
+
+        mockMvc.perform(post("/api/v1/notes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new NoteCreateRequest("Timed", "Content", null))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/v1/notes/507f1f77bcf86cd799439099"))
+                .andExpect(status().isNotFound());
+
+        assertThat(serviceCalls("createNote")).isEqualTo(created + 1);
+        assertThat(notFoundErrors()).isEqualTo(notFound + 1);
+        Timer inserts = meterRegistry.get("mongodb.driver.commands")
+                .tag("command", "insert").tag("collection", "notes").tag("status", "SUCCESS").timer();
+        assertThat(inserts.count()).isPositive();
+        assertThat(inserts.getId().getTag("cluster.id")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should search notes ranking title matches first and filter by tag")
+    void shouldSearchNotesByRelevance() throws Exception {
+        createAndSaveNote("Shopping list", "Milk and bread", Set.of(Tag.PERSONAL), LocalDateTime.of(2024, 11, 1, 10, 0));
+        createAndSaveNote("Weekend", "Go shopping for shoes", Set.of(Tag.PERSONAL), LocalDateTime.of(2024, 11, 2, 10, 0));
+        createAndSaveNote("Budget", "Shopping expenses report", Set.of(Tag.BUSINESS), LocalDateTime.of(2024, 11, 3, 10, 0));
+        createAndSaveNote("Meeting", "Quarterly goals", Set.of(Tag.PERSONAL), LocalDateTime.of(2024, 11, 4, 10, 0));
+
+        mockMvc.perform(get("/api/v1/notes/search?q=shopping&tag=PERSONAL"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].title").value("Shopping list"))
+                .andExpect(jsonPath("$.content[1].title").value("Weekend"));
+
+        mockMvc.perform(get("/api/v1/notes/search?q=%20"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should find a note by a word that only occurs in its compressed text")
+    void shouldSearchCompressedNoteText() throws Exception {
+        String largeText = "Plans for the year. ".repeat(1000) + "Visit Zanzibar in spring.";
+        NoteCreateRequest request = new NoteCreateRequest("Travel", largeText, Set.of(Tag.PERSONAL));
+        mockMvc.perform(post("/api/v1/notes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+        assertThat(noteRepository.findAll().get(0).getText()).isNull();
+
+        mockMvc.perform(get("/api/v1/notes/search?q=zanzibar"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Travel"));
+    }
+
     // Get by ID tests
     @Test
     @DisplayName("Should get note by ID with full details")
@@ -316,6 +649,29 @@ class NoteIntegrationTest {
         Assertions.assertEquals(2, updatedNote.getTags().size());
     }
 
+    @Test
+    @DisplayName("Should reject an update based on a stale ETag")
+    void shouldRejectUpdateWithStaleIfMatch() throws Exception {
+        Note savedNote = createAndSaveNote("Original Title", "Original text content", Set.of(Tag.PERSONAL));
+        NoteUpdateRequest updateRequest = new NoteUpdateRequest("Updated Title", "Updated text", null);
+
+        String eTag = mockMvc.perform(get("/api/v1/notes/" + savedNote.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(put("/api/v1/notes/" + savedNote.getId())
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/v1/notes/" + savedNote.getId())
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @DisplayName("Should return 404 when updating non-existent note")
     void shouldReturn404WhenUpdatingNonExistentNote() throws Exception {
@@ -0,0 +1,73 @@
+package com.example.noteapplication.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadConcern;
+import com.mongodb.WriteConcern;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MongoConfigTest {
+    private MongoConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new MongoConfig();
+        ReflectionTestUtils.setField(config, "minPoolSize", 5);
+        ReflectionTestUtils.setField(config, "maxPoolSize", 50);
+        ReflectionTestUtils.setField(config, "maxConnecting", 4);
+        ReflectionTestUtils.setField(config, "maxWait", Duration.ofSeconds(3));
+        ReflectionTestUtils.setField(config, "maxIdleTime", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(config, "connectTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(config, "readTimeout", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(config, "compressors", List.of("zstd", "zlib"));
+        ReflectionTestUtils.setField(config, "readConcern", "majority");
+        ReflectionTestUtils.setField(config, "writeConcern", "majority");
+    }
+
+    @Test
+    void appliesPoolTimeoutCompressionAndConcerns() {
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+        config.mongoClientTuning(new SimpleMeterRegistry()).customize(builder);
+        MongoClientSettings settings = builder.build();
+
+        assertThat(settings.getConnectionPoolSettings().getMinSize()).isEqualTo(5);
+        assertThat(settings.getConnectionPoolSettings().getMaxSize()).isEqualTo(50);
+        assertThat(settings.getConnectionPoolSettings().getMaxConnecting()).isEqualTo(4);
+        assertThat(settings.getConnectionPoolSettings().getMaxWaitTime(TimeUnit.MILLISECONDS)).isEqualTo(3000);
+        assertThat(settings.getConnectionPoolSettings().getMaxConnectionIdleTime(TimeUnit.MINUTES)).isEqualTo(5);
+        assertThat(settings.getConnectionPoolSettings().getConnectionPoolListeners()).hasSize(1);
+        assertThat(settings.getSocketSettings().getConnectTimeout(TimeUnit.MILLISECONDS)).isEqualTo(2000);
+        assertThat(settings.getSocketSettings().getReadTimeout(TimeUnit.SECONDS)).isEqualTo(30);
+        assertThat(settings.getCompressorList()).extracting(MongoCompressor::getName).containsExactly("zstd", "zlib");
+        assertThat(settings.getReadConcern()).isEqualTo(ReadConcern.MAJORITY);
+        assertThat(settings.getWriteConcern()).isEqualTo(WriteConcern.MAJORITY);
+    }
+
+    @Test
+    void emptyConcernsKeepTheDefaults() {
+        ReflectionTestUtils.setField(config, "readConcern", "");
+        ReflectionTestUtils.setField(config, "writeConcern", "");
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+        config.mongoClientTuning(new SimpleMeterRegistry()).customize(builder);
+
+        assertThat(builder.build().getReadConcern()).isEqualTo(ReadConcern.DEFAULT);
+        assertThat(builder.build().getWriteConcern()).isEqualTo(WriteConcern.ACKNOWLEDGED);
+    }
+
+    @Test
+    void unknownCompressorFailsAtStartup() {
+        ReflectionTestUtils.setField(config, "compressors", List.of("lz4"));
+
+        assertThrows(IllegalArgumentException.class, () -> config.mongoClientTuning(new SimpleMeterRegistry()));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.noteapplication.config;
+
+import com.example.noteapplication.model.Note;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MongoIndexConfigTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private IndexOperations indexOperations;
+    private MongoIndexConfig config;
+
+    @BeforeEach
+    void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        config = new MongoIndexConfig(mongoTemplate, mappingContext);
+        when(mongoTemplate.indexOps(Note.class)).thenReturn(indexOperations);
+    }
+
+    @Test
+    void createsDeclaredIndexesAndPassesVerification() {
+        configure(true, MongoIndexConfig.Verification.FAIL);
+        when(indexOperations.getIndexInfo()).thenReturn(List.of(
+                index("_id_", IndexField.create("_id", Sort.Direction.ASC)),
+                index("tags_createdDate_id",
+                        IndexField.create("tags", Sort.Direction.ASC),
+                        IndexField.create("createdDate", Sort.Direction.DESC),
+                        IndexField.create("_id", Sort.Direction.DESC)),
+                index("createdDate_id_tagMask",
+                        IndexField.create("createdDate", Sort.Direction.DESC),
+                        IndexField.create("_id", Sort.Direction.DESC),
+                        IndexField.create("tagMask", Sort.Direction.ASC)),
+                index("Note_TextIndex",
+                        IndexField.text("title", 3F),
+                        IndexField.text("text", 1F),
+                        IndexField.text("searchTerms", 1F))
+        ));
+
+        assertDoesNotThrow(config::initIndexes);
+        verify(indexOperations, times(3)).createIndex(any());
+    }
+
+    @Test
+    void failsFastWhenQueryShapeHasNoIndex() {
+        configure(false, MongoIndexConfig.Verification.FAIL);
+        when(indexOperations.getIndexInfo()).thenReturn(List.of(
+                index("createdDate", IndexField.create("createdDate", Sort.Direction.ASC))
+        ));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, config::initIndexes);
+        assertTrue(exception.getMessage().contains("LIST_BY_TAG"));
+        assertTrue(exception.getMessage().contains("TEXT_SEARCH"));
+        assertTrue(exception.getMessage().contains("LIST_BY_TAG_MASK"));
+        assertFalse(exception.getMessage().contains("LIST_BY_CREATED_DATE"));
+        verify(indexOperations, never()).createIndex(any());
+    }
+
+    @Test
+    void onlyWarnsInWarnMode() {
+        configure(false, MongoIndexConfig.Verification.WARN);
+        when(indexOperations.getIndexInfo()).thenReturn(List.of());
+
+        assertDoesNotThrow(config::initIndexes);
+    }
+
+    private void configure(boolean autoCreate, MongoIndexConfig.Verification verification) {
+        ReflectionTestUtils.setField(config, "autoCreate", autoCreate);
+        ReflectionTestUtils.setField(config, "verification", verification);
+    }
+
+    private static IndexInfo index(String name, IndexField... fields) {
+        return new IndexInfo(List.of(fields), name, false, false, null);
+    }
+}
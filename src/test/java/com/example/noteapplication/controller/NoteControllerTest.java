@@ -1,32 +1,69 @@
 package com.example.noteapplication.controller;
 
+import com.example.noteapplication.config.BinaryFormatsConfig;
+import com.example.noteapplication.dto.NoteBatchItemResult;
+import com.example.noteapplication.dto.NoteBatchResponse;
+import com.example.noteapplication.dto.NoteBulkResponse;
 import com.example.noteapplication.dto.NoteCreateRequest;
+import com.example.noteapplication.dto.NoteCursorPageResponse;
 import com.example.noteapplication.dto.NoteDetailResponse;
+import com.example.noteapplication.dto.NoteFilter;
+import com.example.noteapplication.dto.NoteImportRejection;
+import com.example.noteapplication.dto.NoteImportResponse;
+import com.example.noteapplication.dto.NoteListResponse;
+import com.example.noteapplication.dto.NoteSliceResponse;
+import com.example.noteapplication.dto.NoteSuggestion;
+import com.example.noteapplication.dto.NoteTagUpdateRequest;
 import com.example.noteapplication.dto.NoteUpdateRequest;
+import com.example.noteapplication.dto.TagMatch;
+import com.example.noteapplication.exception.NoteVersionMismatchException;
+import com.example.noteapplication.model.NoteRevision;
+import com.example.noteapplication.model.NoteWordStatistics;
 import com.example.noteapplication.model.Tag;
+import com.example.noteapplication.service.NoteImporter;
 import com.example.noteapplication.service.NoteService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(NoteController.class)
+@Import({BinaryFormatsConfig.class, NoteExporter.class})
 class NoteControllerTest {
     private static final String GENERAL_PATH = "/api/v1/notes";
+    private static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
 
     @Autowired
     private MockMvc mockMvc;
@@ -34,6 +71,8 @@ class NoteControllerTest {
     private ObjectMapper objectMapper;
     @MockitoBean
     private NoteService noteService;
+    @MockitoBean
+    private NoteImporter noteImporter;
 
     @Test
     void successfulNoteCreate() throws Exception {
@@ -46,8 +85,10 @@ class NoteControllerTest {
                 "1",
                 "Test Note",
                 LocalDateTime.now(),
+                LocalDateTime.now(),
                 "Test text",
-                Set.of(Tag.PERSONAL)
+                Set.of(Tag.PERSONAL),
+                0
         );
         when(noteService.createNote(any(NoteCreateRequest.class))).thenReturn(response);
         mockMvc.perform(post(GENERAL_PATH)
@@ -59,6 +100,108 @@ class NoteControllerTest {
                 .andExpect(jsonPath("$.text").value("Test text"));
     }
 
+    @Test
+    void batchCreateWithRejectedNotesReturnsMultiStatus() throws Exception {
+        List<NoteCreateRequest> requests = List.of(
+                new NoteCreateRequest("Test Note", "Test text", null),
+                new NoteCreateRequest(null, "Test text", null)
+        );
+        NoteBatchResponse response = NoteBatchResponse.of(List.of(
+                NoteBatchItemResult.created(0, "1"),
+                NoteBatchItemResult.invalid(1, Map.of("title", "Title is required"))
+        ));
+        when(noteService.createNotes(anyList())).thenReturn(response);
+        mockMvc.perform(post(GENERAL_PATH + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].id").value("1"))
+                .andExpect(jsonPath("$.results[1].errors.title").value("Title is required"));
+    }
+
+    @Test
+    void importWithRejectedLinesReturnsMultiStatus() throws Exception {
+        NoteImportResponse response = new NoteImportResponse(2, 1, 1, List.of(
+                new NoteImportRejection(2, NoteBatchItemResult.Status.INVALID, Map.of("title", "Title is required"))));
+        when(noteImporter.importNotes(any())).thenReturn(response);
+        mockMvc.perform(post(GENERAL_PATH + "/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"title\": \"First\", \"text\": \"one\"}\n{\"text\": \"two\"}\n"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.rejections[0].line").value(2))
+                .andExpect(jsonPath("$.rejections[0].errors.title").value("Title is required"));
+    }
+
+    @Test
+    void corpusStatisticsKeepFrequencyOrder() throws Exception {
+        Map<String, Long> words = new LinkedHashMap<>();
+        words.put("meeting", 3L);
+        words.put("budget", 2L);
+        when(noteService.getWordStatistics(Tag.BUSINESS, 2)).thenReturn(words);
+        mockMvc.perform(get(GENERAL_PATH + "/stats")
+                        .param("tag", "BUSINESS")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"meeting\":3,\"budget\":2}", JsonCompareMode.STRICT));
+    }
+
+    @Test
+    void tagCountsAreKeyedByTag() throws Exception {
+        when(noteService.getTagCounts()).thenReturn(Map.of(Tag.BUSINESS, 4L, Tag.PERSONAL, 0L, Tag.IMPORTANT, 1L));
+        mockMvc.perform(get(GENERAL_PATH + "/tags/counts"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"BUSINESS\":4,\"PERSONAL\":0,\"IMPORTANT\":1}", JsonCompareMode.STRICT));
+    }
+
+    @Test
+    void suggestReturnsTitles() throws Exception {
+        when(noteService.suggestNotes("meet", 5)).thenReturn(List.of(new NoteSuggestion("1", "Meeting Notes")));
+        mockMvc.perform(get(GENERAL_PATH + "/suggest")
+                        .param("prefix", "meet")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("1"))
+                .andExpect(jsonPath("$[0].title").value("Meeting Notes"));
+    }
+
+    @Test
+    void searchReturnsRankedPage() throws Exception {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<NoteListResponse> page = new PageImpl<>(List.of(
+                new NoteListResponse("1", "Meeting Notes", LocalDateTime.of(2024, 11, 9, 14, 30))), pageable, 1);
+        when(noteService.searchNotes("meeting", pageable, Tag.BUSINESS)).thenReturn(page);
+        mockMvc.perform(get(GENERAL_PATH + "/search")
+                        .param("q", "meeting")
+                        .param("tag", "BUSINESS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Meeting Notes"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void bulkDeleteByTagReturnsDeletedCount() throws Exception {
+        when(noteService.deleteNotes(new NoteFilter(null, Tag.PERSONAL))).thenReturn(new NoteBulkResponse(4, 4));
+        mockMvc.perform(post(GENERAL_PATH + "/batch/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tag\": \"PERSONAL\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(4))
+                .andExpect(jsonPath("$.affected").value(4));
+    }
+
+    @Test
+    void bulkAddTagWithoutTagFailsValidation() throws Exception {
+        NoteTagUpdateRequest request = new NoteTagUpdateRequest(new NoteFilter(List.of("1"), null), null);
+        mockMvc.perform(post(GENERAL_PATH + "/batch/tags/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.tag").exists());
+    }
+
     @Test
     void ValidationErrorDuringCreateNoteDueMissingTitle() throws Exception {
         NoteCreateRequest request = new NoteCreateRequest(
@@ -98,18 +241,67 @@ class NoteControllerTest {
                 "1",
                 "Updated Note",
                 LocalDateTime.now(),
+                LocalDateTime.now(),
                 "Updated text",
-                Set.of(Tag.BUSINESS)
+                Set.of(Tag.BUSINESS),
+                2
         );
 
-        when(noteService.updateNote(eq("1"), any(NoteUpdateRequest.class))).thenReturn(response);
+        when(noteService.updateNote(eq("1"), any(NoteUpdateRequest.class), isNull())).thenReturn(response);
 
         mockMvc.perform(put(GENERAL_PATH + "/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
                 .andExpect(jsonPath("$.title").value("Updated Note"))
-                .andExpect(jsonPath("$.text").value("Updated text"));
+                .andExpect(jsonPath("$.text").value("Updated text"))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    void noteUpdateWithIfMatchPassesExpectedVersion() throws Exception {
+        NoteUpdateRequest request = new NoteUpdateRequest("Updated Note", "Updated text", null);
+        NoteDetailResponse response = new NoteDetailResponse(
+                "1", "Updated Note", LocalDateTime.now(), LocalDateTime.now(), "Updated text", Set.of(), 4);
+        when(noteService.updateNote(eq("1"), any(NoteUpdateRequest.class), eq(3L))).thenReturn(response);
+
+        mockMvc.perform(put(GENERAL_PATH + "/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    void ifMatchOfABinaryFormatNamesTheSameVersion() throws Exception {
+        NoteUpdateRequest request = new NoteUpdateRequest("Updated Note", "Updated text", null);
+        NoteDetailResponse response = new NoteDetailResponse(
+                "1", "Updated Note", LocalDateTime.now(), LocalDateTime.now(), "Updated text", Set.of(), 4);
+        when(noteService.updateNote(eq("1"), any(NoteUpdateRequest.class), eq(3L))).thenReturn(response);
+
+        mockMvc.perform(put(GENERAL_PATH + "/1")
+                        .header("If-Match", "\"3+cbor\"")
+                        .accept(CBOR)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4+cbor\""));
+    }
+
+    @Test
+    void noteUpdateWithStaleIfMatchReturnsPreconditionFailed() throws Exception {
+        NoteUpdateRequest request = new NoteUpdateRequest("Updated Note", "Updated text", null);
+        when(noteService.updateNote(eq("1"), any(NoteUpdateRequest.class), eq(3L)))
+                .thenThrow(new NoteVersionMismatchException("Note 1 was modified, expected version 3"));
+
+        mockMvc.perform(put(GENERAL_PATH + "/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
     }
 
     @Test
@@ -118,19 +310,70 @@ class NoteControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    void noteIsServedAsCborWithTheSameFieldsAsJson() throws Exception {
+        LocalDateTime createdDate = LocalDateTime.of(2024, 11, 9, 14, 30);
+        when(noteService.getNoteById("1")).thenReturn(new NoteDetailResponse("1", "Test Note",
+                createdDate, createdDate, "Test text", Set.of(Tag.PERSONAL), 0));
+
+        byte[] body = mockMvc.perform(get(GENERAL_PATH + "/1").accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode note = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertEquals("Test Note", note.get("title").asText());
+        assertEquals("2024-11-09T14:30:00", note.get("createdDate").asText());
+    }
+
+    @Test
+    void eachFormatHasItsOwnETag() throws Exception {
+        LocalDateTime updatedDate = LocalDateTime.of(2024, 11, 9, 14, 30);
+        when(noteService.getNoteRevision("1")).thenReturn(new NoteRevision("1", 3L, updatedDate, updatedDate));
+        when(noteService.getNoteById("1")).thenReturn(new NoteDetailResponse(
+                "1", "Test Note", updatedDate, updatedDate, "Test text", Set.of(), 3));
+
+        mockMvc.perform(get(GENERAL_PATH + "/1").accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3+cbor\""))
+                .andExpect(header().string("Vary", "Accept"));
+        mockMvc.perform(get(GENERAL_PATH + "/1").accept(SMILE).header("If-None-Match", "\"3+smile\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept"));
+        mockMvc.perform(get(GENERAL_PATH + "/1").header("If-None-Match", "\"3+cbor\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    void noteIsCreatedFromSmile() throws Exception {
+        NoteCreateRequest request = new NoteCreateRequest("Test Note", "Test text", Set.of(Tag.PERSONAL));
+        when(noteService.createNote(request)).thenReturn(new NoteDetailResponse("1", "Test Note",
+                LocalDateTime.now(), LocalDateTime.now(), "Test text", Set.of(Tag.PERSONAL), 0));
+
+        mockMvc.perform(post(GENERAL_PATH)
+                        .contentType(SMILE)
+                        .content(new ObjectMapper(new SmileFactory()).writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value("1"));
+    }
+
     @Test
     void successfulGetNoteById() throws Exception {
         NoteDetailResponse response = new NoteDetailResponse(
                 "1",
                 "Test Note",
                 LocalDateTime.now(),
+                LocalDateTime.now(),
                 "Test text",
-                Set.of(Tag.PERSONAL)
+                Set.of(Tag.PERSONAL),
+                0
         );
         when(noteService.getNoteById("1")).thenReturn(response);
 
         mockMvc.perform(get(GENERAL_PATH + "/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
                 .andExpect(jsonPath("$.id").value("1"))
                 .andExpect(jsonPath("$.title").value("Test Note"))
                 .andExpect(jsonPath("$.text").value("Test text"));
@@ -144,18 +387,81 @@ class NoteControllerTest {
         stats.put("just", 1L);
         stats.put("a", 1L);
 
-        when(noteService.getWordStatistics("1")).thenReturn(stats);
+        when(noteService.getWordStatistics("1"))
+                .thenReturn(new NoteWordStatistics("1", stats, 3L, LocalDateTime.now(), null));
 
         mockMvc.perform(get(GENERAL_PATH + "/1/stats"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().exists("Last-Modified"))
                 .andExpect(jsonPath("$.note").value(2))
                 .andExpect(jsonPath("$.is").value(1))
                 .andExpect(jsonPath("$.just").value(1))
                 .andExpect(jsonPath("$.a").value(1));
+        verify(noteService, never()).getNoteRevision(any());
+    }
+
+    @Test
+    void unchangedNoteIsRevalidatedWithoutLoadingIt() throws Exception {
+        when(noteService.getNoteRevision("1")).thenReturn(new NoteRevision("1", 3L, LocalDateTime.now(), null));
+
+        mockMvc.perform(get(GENERAL_PATH + "/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+        verify(noteService, never()).getNoteById(any());
+    }
+
+    @Test
+    void modifiedNoteIsReturnedWithNewValidators() throws Exception {
+        LocalDateTime updatedDate = LocalDateTime.of(2024, 11, 9, 14, 30);
+        when(noteService.getNoteRevision("1")).thenReturn(new NoteRevision("1", 4L, updatedDate, updatedDate));
+        when(noteService.getNoteById("1")).thenReturn(new NoteDetailResponse(
+                "1", "Test Note", updatedDate, updatedDate, "Test text", Set.of(), 4));
+
+        mockMvc.perform(get(GENERAL_PATH + "/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(header().exists("Last-Modified"));
+    }
+
+    @Test
+    void unchangedWordStatisticsReturnNotModified() throws Exception {
+        when(noteService.getNoteRevision("1")).thenReturn(new NoteRevision("1", 3L, LocalDateTime.now(), null));
+
+        mockMvc.perform(get(GENERAL_PATH + "/1/stats").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified());
+        verify(noteService, never()).getWordStatistics(any());
+    }
+
+    @Test
+    void changedWordStatisticsAreTaggedWithTheVersionTheyWereReadWith() throws Exception {
+        when(noteService.getNoteRevision("1")).thenReturn(new NoteRevision("1", 3L, LocalDateTime.now(), null));
+        when(noteService.getWordStatistics("1"))
+                .thenReturn(new NoteWordStatistics("1", Map.of("note", 1L), 4L, LocalDateTime.now(), null));
+
+        mockMvc.perform(get(GENERAL_PATH + "/1/stats").header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    void unchangedListPageReturnsNotModified() throws Exception {
+        Page<NoteListResponse> page = new PageImpl<>(
+                List.of(new NoteListResponse("1", "Test Note", LocalDateTime.of(2024, 11, 9, 14, 30))),
+                PageRequest.of(0, 10), 1);
+        when(noteService.listNotes(any(Pageable.class), isNull())).thenReturn(page);
+
+        String eTag = mockMvc.perform(get(GENERAL_PATH))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get(GENERAL_PATH).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
     }
 
     @Test
     void listNotesWithPagination() throws Exception {
+        when(noteService.listNotes(any(Pageable.class), isNull())).thenReturn(Page.empty());
         mockMvc.perform(get(GENERAL_PATH)
                         .param("page", "0")
                         .param("size", "10"))
@@ -164,10 +470,132 @@ class NoteControllerTest {
 
     @Test
     void listNotesWithTagFilter() throws Exception {
+        when(noteService.listNotes(any(Pageable.class), eq(Tag.PERSONAL))).thenReturn(Page.empty());
         mockMvc.perform(get(GENERAL_PATH)
                         .param("tag", "PERSONAL")
                         .param("page", "0")
                         .param("size", "10"))
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    @Test
+    void listNotesWithSeveralTagsMatchingAny() throws Exception {
+        when(noteService.listNotesByTags(any(Pageable.class), eq(Set.of(Tag.BUSINESS, Tag.IMPORTANT)), eq(TagMatch.ANY)))
+                .thenReturn(Page.empty());
+        mockMvc.perform(get(GENERAL_PATH)
+                        .param("tags", "BUSINESS,IMPORTANT")
+                        .param("match", "ANY"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listNotesReadsTheMatchParameterRegardlessOfCase() throws Exception {
+        when(noteService.listNotesByTags(any(Pageable.class), eq(Set.of(Tag.BUSINESS, Tag.IMPORTANT)), eq(TagMatch.ANY)))
+                .thenReturn(Page.empty());
+        mockMvc.perform(get(GENERAL_PATH)
+                        .param("tags", "BUSINESS,IMPORTANT")
+                        .param("match", "any"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listNotesRejectsAnUnknownMatch() throws Exception {
+        mockMvc.perform(get(GENERAL_PATH)
+                        .param("tags", "BUSINESS,IMPORTANT")
+                        .param("match", "some"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "Invalid value 'some' for parameter 'match'. Allowed values are: [ALL, ANY]"));
+    }
+
+    @Test
+    void listNotesRejectsTagsCombinedWithTag() throws Exception {
+        mockMvc.perform(get(GENERAL_PATH)
+                        .param("tags", "BUSINESS,IMPORTANT")
+                        .param("tag", "PERSONAL"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listNotesByCursor() throws Exception {
+        NoteCursorPageResponse response = new NoteCursorPageResponse(
+                List.of(new NoteListResponse("1", "Test Note", LocalDateTime.now())),
+                "next",
+                true
+        );
+        when(noteService.listNotes(eq("abc"), eq(10), isNull())).thenReturn(response);
+
+        mockMvc.perform(get(GENERAL_PATH + "/cursor")
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value("1"))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void listNotesByCursorRejectsCursorCombinedWithDate() throws Exception {
+        mockMvc.perform(get(GENERAL_PATH + "/cursor")
+                        .param("cursor", "abc")
+                        .param("from", "2024-11-09T14:30:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listNotesSliceWithoutTotal() throws Exception {
+        NoteSliceResponse response = new NoteSliceResponse(
+                List.of(new NoteListResponse("1", "Test Note", LocalDateTime.now())),
+                0,
+                10,
+                false
+        );
+        when(noteService.listNotesSlice(any(), eq(Tag.PERSONAL))).thenReturn(response);
+
+        mockMvc.perform(get(GENERAL_PATH + "/slice")
+                        .param("tag", "PERSONAL"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value("1"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    void exportStreamsNotesAsNdjsonAndClosesTheCursor() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        LocalDateTime createdDate = LocalDateTime.of(2024, 11, 9, 14, 30);
+        Stream<NoteDetailResponse> notes = Stream.of(
+                new NoteDetailResponse("1", "First", createdDate, createdDate, "One", Set.of(Tag.BUSINESS), 0),
+                new NoteDetailResponse("2", "Second", createdDate, createdDate, "Two", Set.of(), 0)
+        ).onClose(() -> closed.set(true));
+        when(noteService.exportNotes(eq(Tag.BUSINESS), eq(createdDate), isNull())).thenReturn(notes);
+
+        MvcResult result = mockMvc.perform(get(GENERAL_PATH + "/export")
+                        .param("tag", "BUSINESS")
+                        .param("from", "2024-11-09T14:30:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":\"1\",\"title\":\"First\",\"createdDate\":\"2024-11-09T14:30:00\",\"updatedDate\":\"2024-11-09T14:30:00\",\"text\":\"One\",\"tags\":[\"BUSINESS\"]}\n"
+                                + "{\"id\":\"2\",\"title\":\"Second\",\"createdDate\":\"2024-11-09T14:30:00\",\"updatedDate\":\"2024-11-09T14:30:00\",\"text\":\"Two\",\"tags\":[]}\n"));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportFailingForAnotherReasonThanTheClientCompletesWithAnError() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<NoteDetailResponse> notes = Stream.<NoteDetailResponse>generate(() -> {
+            throw new IllegalStateException("cursor lost");
+        }).onClose(() -> closed.set(true));
+        when(noteService.exportNotes(isNull(), isNull(), isNull())).thenReturn(notes);
+
+        MvcResult result = mockMvc.perform(get(GENERAL_PATH + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isInternalServerError());
+        assertTrue(closed.get());
+    }
+}
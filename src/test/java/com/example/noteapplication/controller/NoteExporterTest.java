@@ -0,0 +1,46 @@
+package com.example.noteapplication.controller;
+
+import com.example.noteapplication.dto.NoteDetailResponse;
+import com.example.noteapplication.exception.NoteExportBusyException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NoteExporterTest {
+    private final NoteExporter exporter = new NoteExporter(new ObjectMapper(), 1, Duration.ofMinutes(1));
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        exporter.shutdown();
+    }
+
+    @Test
+    void exportBeyondTheLimitIsRejectedAndClosed() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        exporter.export(Stream.<NoteDetailResponse>generate(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }).limit(1));
+        started.await();
+        AtomicBoolean closed = new AtomicBoolean();
+
+        assertThrows(NoteExportBusyException.class,
+                () -> exporter.export(Stream.<NoteDetailResponse>empty().onClose(() -> closed.set(true))));
+        assertTrue(closed.get());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.noteapplication.controller;
+
+import com.example.noteapplication.dto.NoteListResponse;
+import com.example.noteapplication.dto.TagMatch;
+import com.example.noteapplication.model.NoteWordStatistics;
+import com.example.noteapplication.model.Tag;
+import com.example.noteapplication.service.ReactiveNoteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveNoteController.class)
+@ActiveProfiles("reactive")
+class ReactiveNoteControllerTest {
+    private static final String GENERAL_PATH = "/api/v1/notes";
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @MockitoBean
+    private ReactiveNoteService noteService;
+
+    @Test
+    void wordStatisticsCarryTheValidatorsOfTheirNote() {
+        LocalDateTime updatedDate = LocalDateTime.of(2024, 11, 9, 14, 30);
+        when(noteService.getWordStatistics("1"))
+                .thenReturn(Mono.just(new NoteWordStatistics("1", Map.of("note", 2L), 3L, updatedDate, updatedDate)));
+
+        webTestClient.get().uri(GENERAL_PATH + "/1/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"3\"")
+                .expectHeader().exists("Last-Modified")
+                .expectBody().json("{\"note\":2}");
+    }
+
+    @Test
+    void unchangedWordStatisticsReturnNotModified() {
+        when(noteService.getWordStatistics("1")).thenReturn(Mono.just(
+                new NoteWordStatistics("1", Map.of("note", 2L), 3L, LocalDateTime.now(), null)));
+
+        webTestClient.get().uri(GENERAL_PATH + "/1/stats")
+                .header("If-None-Match", "\"3\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void listIsFilteredByAnyOfSeveralTags() {
+        when(noteService.listNotesByTags(PageRequest.of(0, 10), Set.of(Tag.BUSINESS, Tag.PERSONAL), TagMatch.ANY))
+                .thenReturn(Mono.just(new PageImpl<>(
+                        List.of(new NoteListResponse("1", "Test Note", LocalDateTime.of(2024, 11, 9, 14, 30))),
+                        PageRequest.of(0, 10), 1)));
+
+        webTestClient.get().uri(GENERAL_PATH + "?tags=BUSINESS,PERSONAL&match=any")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists("ETag")
+                .expectBody().jsonPath("$.content[0].id").isEqualTo("1");
+    }
+
+    @Test
+    void unknownMatchIsRejected() {
+        webTestClient.get().uri(GENERAL_PATH + "?tags=BUSINESS&match=some")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(noteService);
+    }
+
+    @Test
+    void tagsCannotBeCombinedWithTag() {
+        webTestClient.get().uri(GENERAL_PATH + "?tags=BUSINESS&tag=PERSONAL")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(noteService);
+    }
+
+    @Test
+    void countModeIsRejected() {
+        webTestClient.get().uri(GENERAL_PATH + "?count=ESTIMATED")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Parameter 'count' is not supported in reactive mode");
+        verifyNoInteractions(noteService);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.noteapplication.repository;
+
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.Tag;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NoteRepositoryCustomImplTest {
+
+    @Test
+    void allTagsMatchAllBitsOfTheirPositions() {
+        Document criteria = NoteRepositoryCustomImpl
+                .tagMaskCriteria(Tag.mask(Set.of(Tag.BUSINESS, Tag.IMPORTANT)), true)
+                .getCriteriaObject();
+
+        assertThat(criteria).isEqualTo(new Document("tagMask", new Document("$bitsAllSet", List.of(0, 2))));
+    }
+
+    @Test
+    void anyTagMatchesAnyBitOfTheirPositions() {
+        Document criteria = NoteRepositoryCustomImpl
+                .tagMaskCriteria(Tag.mask(Set.of(Tag.PERSONAL)), false)
+                .getCriteriaObject();
+
+        assertThat(criteria).isEqualTo(new Document("tagMask", new Document("$bitsAnySet", List.of(1))));
+    }
+
+    @Test
+    void highBitsOfTheMaskAreKept() {
+        Document criteria = NoteRepositoryCustomImpl.tagMaskCriteria(1L << 40 | 1L, true).getCriteriaObject();
+
+        assertThat(criteria.get("tagMask", Document.class).get("$bitsAllSet")).isEqualTo(List.of(0, 40));
+    }
+
+    @Test
+    void updateReadsNeitherTheOldTextNorTheStatistics() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        NoteTextCompressor compressor = new NoteTextCompressor(true, 16, new SimpleMeterRegistry());
+        NoteRepositoryCustomImpl repository = new NoteRepositoryCustomImpl(mongoTemplate, compressor, 1000, 500);
+        LocalDateTime createdDate = LocalDateTime.of(2024, 11, 9, 14, 30);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Note.class))).thenReturn(Note.builder()
+                .id("1").createdDate(createdDate).tags(Set.of(Tag.PERSONAL)).version(3L).build());
+        String text = "Discuss the budget. ".repeat(10);
+
+        NoteUpdate update = repository.updateContent("1", 3L, "Budget", text, Map.of("budget", 10L), null)
+                .orElseThrow();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndModify(query.capture(), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Note.class));
+        assertThat(query.getValue().getFieldsObject())
+                .isEqualTo(new Document(Map.of("createdDate", 1, "tags", 1, "version", 1)));
+        assertThat(update.note().readText()).isEqualTo(text);
+        assertThat(update.note().getVersion()).isEqualTo(4L);
+        assertThat(update.note().getCreatedDate()).isEqualTo(createdDate);
+        assertThat(update.previousTags()).containsExactly(Tag.PERSONAL);
+    }
+
+    @Test
+    void backfilledMasksAreComputedFromTheTagsOfNotesStillWithoutOne() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        NoteRepositoryCustomImpl repository = new NoteRepositoryCustomImpl(mongoTemplate,
+                new NoteTextCompressor(false, 16, new SimpleMeterRegistry()), 1000, 500);
+        when(mongoTemplate.updateMulti(any(Query.class), any(UpdateDefinition.class), eq(Note.class)))
+                .thenReturn(UpdateResult.acknowledged(2, 1L, null));
+
+        assertThat(repository.saveTagMasks(List.of("1", "2"))).isEqualTo(1);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoTemplate).updateMulti(query.capture(), update.capture(), eq(Note.class));
+        assertThat(query.getValue().getQueryObject().get("tagMask")).isEqualTo(new Document("$exists", false));
+        assertThat(update.getValue()).isInstanceOf(AggregationUpdate.class);
+    }
+
+    @Test
+    void wordStatisticsAreOnlyStoredOnNotesStillWithoutThem() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations operations = mock(BulkOperations.class);
+        NoteRepositoryCustomImpl repository = new NoteRepositoryCustomImpl(mongoTemplate,
+                new NoteTextCompressor(false, 16, new SimpleMeterRegistry()), 1000, 500);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Note.class)).thenReturn(operations);
+        when(operations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+        assertThat(repository.saveWordStatistics(Map.of("1", Map.of("word", 1L)))).isEqualTo(1);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(operations).updateOne(query.capture(), any(Update.class));
+        assertThat(query.getValue().getQueryObject().get("wordStatistics")).isEqualTo(new Document("$exists", false));
+    }
+
+    @Test
+    void tagMaskIsTheSumOfTheBitsOfTheDistinctTags() {
+        Document map = NoteRepositoryCustomImpl.tagMaskOfTags()
+                .get("$toLong", Document.class).get("$sum", Document.class).get("$map", Document.class);
+        List<Object> branches = map.get("in", Document.class).get("$switch", Document.class).getList("branches", Object.class);
+
+        assertThat(map.get("input", Document.class)).containsKey("$setUnion");
+        assertThat(branches).hasSize(Tag.values().length).contains(
+                new Document("case", new Document("$eq", List.of("$$tag", "IMPORTANT"))).append("then", 0b100L));
+    }
+
+    @Test
+    void retaggingLeavesNotesThatAlreadyHaveTheTagUnmodified() {
+        List<Document> stages = NoteRepositoryCustomImpl.updateTags(Tag.IMPORTANT, true).getPipeline()
+                .getOperations().stream().map(stage -> stage.toDocument(Aggregation.DEFAULT_CONTEXT)).toList();
+
+        Document tags = stages.getFirst().get("$set", Document.class).get("tags", Document.class);
+        assertThat(tags.getList("$cond", Object.class)).last().isEqualTo("$tags");
+        assertThat(stages.get(1)).isEqualTo(
+                new Document("$set", new Document("tagMask", NoteRepositoryCustomImpl.tagMaskOfTags())));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.noteapplication.repository;
+
+import com.example.noteapplication.model.Note;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NoteTextCompressorTest {
+    private static final String LONG_TEXT = "Discuss project timeline and budget. Обговорити бюджет проєкту. ".repeat(100);
+
+    private SimpleMeterRegistry meterRegistry;
+    private NoteTextCompressor compressor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        compressor = new NoteTextCompressor(true, 1024, meterRegistry);
+    }
+
+    @Test
+    void longTextIsStoredCompressedAndReadBack() {
+        Note note = compressor.onBeforeConvert(Note.builder().text(LONG_TEXT).build(), "notes");
+
+        assertThat(note.getText()).isNull();
+        assertThat(note.getCompressedText()).hasSizeLessThan(LONG_TEXT.length() / 10);
+        assertThat(note.readText()).isEqualTo(LONG_TEXT);
+        assertThat(note.getSearchTerms()).contains("discuss", "budget", "бюджет");
+        assertThat(meterRegistry.get("notes.text.compression").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notes.text.compression.ratio").summary().max()).isGreaterThan(10);
+    }
+
+    @Test
+    void shortTextIsStoredAsIs() {
+        Note note = compressor.onBeforeConvert(
+                Note.builder().text("Call the client").compressedText(new byte[]{1}).searchTerms(Set.of("call")).build(),
+                "notes");
+
+        assertThat(note.getText()).isEqualTo("Call the client");
+        assertThat(note.getCompressedText()).isNull();
+        assertThat(note.getSearchTerms()).isNull();
+        assertThat(meterRegistry.get("notes.text.compression").timer().count()).isZero();
+    }
+
+    @Test
+    void disabledCompressionStoresEveryTextAsIs() {
+        compressor = new NoteTextCompressor(false, 1024, meterRegistry);
+
+        assertThat(compressor.compress(LONG_TEXT)).isNull();
+    }
+
+    @Test
+    void updateSetsOnlyTheStoredForm() {
+        Update compressed = compressor.setText(new Update(), LONG_TEXT, compressor.compress(LONG_TEXT),
+                Map.of("discuss", 100L));
+        Update plain = compressor.setText(new Update(), "Call the client", null, Map.of("call", 1L));
+
+        assertThat(compressed.getUpdateObject().get("$unset", Document.class)).containsKey("text");
+        assertThat(compressed.getUpdateObject().get("$set", Document.class)).containsKey("compressedText")
+                .containsEntry("searchTerms", Set.of("discuss"));
+        assertThat(plain.getUpdateObject().get("$set", Document.class)).containsEntry("text", "Call the client");
+        assertThat(plain.getUpdateObject().get("$unset", Document.class)).containsKeys("compressedText", "searchTerms");
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.NoteWordStatistics;
+import com.example.noteapplication.model.Tag;
+import com.example.noteapplication.repository.NoteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CorpusWordStatisticsTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+    private CorpusWordStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new CorpusWordStatistics(noteRepository, 4, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.shutdown();
+    }
+
+    @Test
+    void mergesStoredAndTokenizedCountsOfAllWorkers() {
+        when(noteRepository.streamWordStatistics(Tag.BUSINESS)).thenReturn(IntStream.range(0, 10)
+                .mapToObj(i -> new NoteWordStatistics("id" + i, Map.of("budget", 2L, "note" + (i % 2), 1L),
+                        null, null, null)));
+        when(noteRepository.streamWithoutWordStatistics(Tag.BUSINESS)).thenReturn(Stream.of(
+                Note.builder().id("legacy").text("Budget budget review").build()));
+
+        Map<String, Long> words = statistics.top(Tag.BUSINESS, 3);
+
+        assertThat(words).containsExactly(Map.entry("budget", 22L), Map.entry("note0", 5L), Map.entry("note1", 5L));
+    }
+
+    @Test
+    void cachesUntilTheNextWrite() {
+        when(noteRepository.streamWordStatistics(null)).thenAnswer(invocation ->
+                Stream.of(new NoteWordStatistics("id", Map.of("word", 1L), null, null, null)));
+        when(noteRepository.streamWithoutWordStatistics(null)).thenAnswer(invocation -> Stream.empty());
+
+        statistics.top(null, 10);
+        statistics.top(null, 5);
+        verify(noteRepository, times(1)).streamWordStatistics(null);
+
+        statistics.invalidate();
+        assertThat(statistics.top(null, 10)).containsExactly(Map.entry("word", 1L));
+        verify(noteRepository, times(2)).streamWordStatistics(null);
+    }
+
+    @Test
+    void concurrentMissesShareOneCount() throws Exception {
+        CountDownLatch counting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(noteRepository.streamWordStatistics(null)).thenAnswer(invocation -> {
+            counting.countDown();
+            release.await();
+            return Stream.of(new NoteWordStatistics("id", Map.of("word", 1L), null, null, null));
+        });
+        when(noteRepository.streamWithoutWordStatistics(null)).thenAnswer(invocation -> Stream.empty());
+
+        CompletableFuture<Map<String, Long>> first = CompletableFuture.supplyAsync(() -> statistics.top(null, 10));
+        counting.await();
+        CompletableFuture<Map<String, Long>> second = new CompletableFuture<>();
+        Thread waiter = new Thread(() -> second.complete(statistics.top(null, 10)));
+        waiter.start();
+        while (waiter.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).containsExactly(Map.entry("word", 1L));
+        assertThat(second.get(5, TimeUnit.SECONDS)).containsExactly(Map.entry("word", 1L));
+        verify(noteRepository, times(1)).streamWordStatistics(null);
+    }
+
+    @Test
+    void failedCountIsNotCached() {
+        when(noteRepository.streamWordStatistics(null))
+                .thenThrow(new IllegalStateException("cursor lost"))
+                .thenAnswer(invocation -> Stream.of(new NoteWordStatistics("id", Map.of("word", 1L), null, null, null)));
+        when(noteRepository.streamWithoutWordStatistics(null)).thenAnswer(invocation -> Stream.empty());
+
+        assertThatThrownBy(() -> statistics.top(null, 10)).isInstanceOf(IllegalStateException.class);
+        assertThat(statistics.top(null, 10)).containsExactly(Map.entry("word", 1L));
+    }
+
+    @Test
+    void topKeepsMostFrequentWordsAlphabeticallyAmongEqualCounts() {
+        CorpusWordStatistics.WordCounts counts = new CorpusWordStatistics.WordCounts();
+        IntStream.range(0, 200).forEach(i -> counts.add("word" + i, i % 3));
+        counts.add("alpha", 1);
+
+        List<Map.Entry<String, Long>> top = counts.top(3);
+
+        assertThat(top).containsExactly(Map.entry("word101", 2L), Map.entry("word104", 2L), Map.entry("word107", 2L));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.dto.NoteCreateRequest;
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.Tag;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NoteFactoryTest {
+    private final NoteFactory noteFactory = new NoteFactory(Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    void violationsAreKeyedByProperty() {
+        assertThat(noteFactory.validate(new NoteCreateRequest(" ", null, null)))
+                .containsOnlyKeys("text", "title");
+        assertThat(noteFactory.validate(null)).containsOnlyKeys("note");
+        assertThat(noteFactory.validate(new NoteCreateRequest("Title", "Text", null))).isEmpty();
+    }
+
+    @Test
+    void newNoteCarriesTagMaskAndWordStatistics() {
+        LocalDateTime createdDate = LocalDateTime.of(2024, 11, 9, 14, 30);
+
+        Note note = noteFactory.newNote(new NoteCreateRequest("Budget", "budget review budget", Set.of(Tag.IMPORTANT)),
+                createdDate);
+
+        assertThat(note.getTagMask()).isEqualTo(Tag.mask(Set.of(Tag.IMPORTANT)));
+        assertThat(note.getWordStatistics()).containsEntry("budget", 2L).containsEntry("review", 1L);
+        assertThat(note.getCreatedDate()).isEqualTo(createdDate);
+        assertThat(note.getUpdatedDate()).isEqualTo(createdDate);
+    }
+}
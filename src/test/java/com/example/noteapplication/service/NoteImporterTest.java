@@ -0,0 +1,111 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.dto.NoteBatchItemResult;
+import com.example.noteapplication.dto.NoteImportRejection;
+import com.example.noteapplication.dto.NoteImportResponse;
+import com.example.noteapplication.exception.NoteImportLineTooLongException;
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.repository.NoteRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NoteImporterTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+    private NoteImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        importer = new NoteImporter(noteRepository,
+                new NoteTitleIndex(noteRepository, Runnable::run, 10_000, new SimpleMeterRegistry()),
+                new CorpusWordStatistics(noteRepository, 1, 500), new TagCounter(noteRepository, Runnable::run),
+                new ObjectMapper(),
+                new NoteFactory(Validation.buildDefaultValidatorFactory().getValidator()));
+        ReflectionTestUtils.setField(importer, "batchSize", 2);
+        ReflectionTestUtils.setField(importer, "maxReportedRejections", 10);
+        ReflectionTestUtils.setField(importer, "maxLineLength", 64);
+    }
+
+    @Test
+    void importWritesValidLinesInBatchesAndReportsRejectedLines() throws Exception {
+        String ndjson = """
+                {"title": "First", "text": "one", "tags": ["BUSINESS"]}
+                {"title": " ", "text": "two"}
+
+                {"title": "Third", "text": "three"
+                {"title": "Fourth", "text": "four"}
+                {"title": "Fifth", "text": "five"}
+                {"title": "Sixth", "text": "six"}
+                """;
+        List<List<String>> batches = new ArrayList<>();
+        when(noteRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Note> notes = invocation.getArgument(0);
+            batches.add(notes.stream().map(Note::getTitle).toList());
+            return batches.size() == 2 ? Map.of(1, "E11000 duplicate key error") : Map.of();
+        });
+
+        NoteImportResponse response = importer.importNotes(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(List.of(List.of("First", "Fourth"), List.of("Fifth", "Sixth")), batches);
+        assertEquals(6, response.lines());
+        assertEquals(3, response.accepted());
+        assertEquals(3, response.rejected());
+        assertThat(response.rejections()).extracting(NoteImportRejection::line).containsExactly(2L, 4L, 7L);
+        assertThat(response.rejections()).extracting(NoteImportRejection::status).containsExactly(
+                NoteBatchItemResult.Status.INVALID, NoteBatchItemResult.Status.INVALID, NoteBatchItemResult.Status.FAILED);
+        assertThat(response.rejections().get(0).errors()).containsOnlyKeys("title");
+        assertThat(response.rejections().get(1).errors()).containsOnlyKeys("json");
+    }
+
+    @Test
+    void importEndsAtALineLongerThanTheMaximumOnceTheLinesBeforeItAreWritten() {
+        String ndjson = "{\"title\": \"First\", \"text\": \"one\"}\r\n"
+                + "{\"title\": \"Long\", \"text\": \"" + "x".repeat(100_000) + "\"}\n"
+                + "{\"title\": \"Third\", \"text\": \"three\"}\n";
+        List<String> inserted = new ArrayList<>();
+        when(noteRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Note> notes = invocation.getArgument(0);
+            notes.forEach(note -> inserted.add(note.getTitle()));
+            return Map.of();
+        });
+
+        assertThatThrownBy(() -> importer.importNotes(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(NoteImportLineTooLongException.class)
+                .hasMessage("Line 2 is longer than 64 characters; 1 notes of the lines before it were imported");
+        assertEquals(List.of("First"), inserted);
+    }
+
+    @Test
+    void importListsOnlyTheFirstRejections() throws Exception {
+        ReflectionTestUtils.setField(importer, "maxReportedRejections", 1);
+        String ndjson = "{\"title\": \"\", \"text\": \"one\"}\n{\"title\": \"\", \"text\": \"two\"}\n";
+
+        NoteImportResponse response = importer.importNotes(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, response.rejected());
+        assertThat(response.rejections()).extracting(NoteImportRejection::line).containsExactly(1L);
+    }
+}
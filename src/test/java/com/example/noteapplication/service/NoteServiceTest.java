@@ -1,26 +1,55 @@
 package com.example.noteapplication.service;
 
+import com.example.noteapplication.dto.CountMode;
+import com.example.noteapplication.dto.NoteBatchItemResult;
+import com.example.noteapplication.dto.NoteBatchResponse;
+import com.example.noteapplication.dto.NoteBulkResponse;
 import com.example.noteapplication.dto.NoteCreateRequest;
+import com.example.noteapplication.dto.NoteCursorPageResponse;
 import com.example.noteapplication.dto.NoteDetailResponse;
+import com.example.noteapplication.dto.NoteFilter;
+import com.example.noteapplication.dto.NoteListResponse;
+import com.example.noteapplication.dto.NoteSliceResponse;
+import com.example.noteapplication.dto.NoteSuggestion;
 import com.example.noteapplication.dto.NoteUpdateRequest;
+import com.example.noteapplication.dto.TagMatch;
+import com.example.noteapplication.exception.InvalidNoteRequestException;
 import com.example.noteapplication.exception.NoteNotFoundException;
+import com.example.noteapplication.exception.NoteVersionMismatchException;
 import com.example.noteapplication.mapper.NoteMapper;
 import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.NoteRevision;
+import com.example.noteapplication.model.NoteSummary;
+import com.example.noteapplication.model.NoteWordStatistics;
 import com.example.noteapplication.model.Tag;
+import com.example.noteapplication.repository.NoteCursor;
 import com.example.noteapplication.repository.NoteRepository;
+import com.example.noteapplication.repository.NoteUpdate;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -40,12 +69,20 @@ public class NoteServiceTest {
     @InjectMocks
     private NoteServiceImpl noteService;
     private Note testNote;
+    private NoteSummary testSummary;
     private NoteCreateRequest createRequest;
+    private NoteCache noteCache;
 
 
     @BeforeEach
     void setUp() {
-        noteService = new NoteServiceImpl(noteRepository, mapper);
+        noteCache = new NoteCache(DataSize.ofMegabytes(1), Duration.ofMinutes(10), new SimpleMeterRegistry());
+        noteService = new NoteServiceImpl(noteRepository, mapper,
+                new NoteTotalCounter(noteRepository, Runnable::run, Duration.ofSeconds(30), Duration.ofSeconds(2)), noteCache,
+                new NoteTitleIndex(noteRepository, Runnable::run, 10_000, new SimpleMeterRegistry()),
+                new CorpusWordStatistics(noteRepository, 1, 500),
+                new TagCounter(noteRepository, Runnable::run),
+                new NoteFactory(Validation.buildDefaultValidatorFactory().getValidator()));
         testNote = Note.builder()
                 .id("507f1f77bcf86cd799439011")
                 .title("Quarterly Business Review Meeting")
@@ -55,6 +92,7 @@ public class NoteServiceTest {
                 .tags(Set.of(Tag.BUSINESS, Tag.IMPORTANT))
                 .createdDate(LocalDateTime.of(2024, 11, 9, 14, 30))
                 .build();
+        testSummary = new NoteSummary(testNote.getId(), testNote.getTitle(), testNote.getCreatedDate());
 
         createRequest = new NoteCreateRequest(
                 "Quarterly Business Review Meeting",
@@ -78,6 +116,7 @@ public class NoteServiceTest {
         assertEquals(Set.of(Tag.BUSINESS, Tag.IMPORTANT), response.tags());
         assertNotNull(response.createdDate());
         verify(noteRepository, times(1)).save(any(Note.class));
+        verify(noteRepository).incrementTagCounts(Map.of(Tag.BUSINESS, 1L, Tag.IMPORTANT, 1L));
     }
 
     @Test
@@ -106,6 +145,44 @@ public class NoteServiceTest {
         verify(noteRepository, times(1)).save(any(Note.class));
     }
 
+    @Test
+    void batchCreateReportsCreatedInvalidAndFailedNotes() {
+        NoteCreateRequest invalid = new NoteCreateRequest("", "Text without a title", null);
+        NoteCreateRequest duplicate = new NoteCreateRequest("Duplicate", "Rejected by the database", null);
+        when(noteRepository.insertAll(anyList())).thenReturn(Map.of(1, "E11000 duplicate key error"));
+
+        NoteBatchResponse response = noteService.createNotes(List.of(createRequest, invalid, duplicate));
+
+        assertEquals(1, response.created());
+        assertEquals(2, response.rejected());
+        assertThat(response.results()).extracting(NoteBatchItemResult::status).containsExactly(
+                NoteBatchItemResult.Status.CREATED, NoteBatchItemResult.Status.INVALID, NoteBatchItemResult.Status.FAILED);
+        assertThat(response.results().get(1).errors()).containsOnlyKeys("title");
+        assertThat(response.results().get(2).errors()).containsEntry("write", "E11000 duplicate key error");
+        ArgumentCaptor<List<Note>> inserted = ArgumentCaptor.captor();
+        verify(noteRepository).insertAll(inserted.capture());
+        assertThat(inserted.getValue()).extracting(Note::getId)
+                .containsExactly(response.results().get(0).id(), response.results().get(2).id());
+        assertThat(inserted.getValue().getFirst().getWordStatistics()).isNotEmpty();
+        verify(noteRepository, never()).save(any(Note.class));
+        // only the created note is counted
+        verify(noteRepository).incrementTagCounts(Map.of(Tag.BUSINESS, 1L, Tag.IMPORTANT, 1L));
+    }
+
+    @Test
+    void batchCreateWithOnlyInvalidNotesWritesNothing() {
+        NoteBatchResponse response = noteService.createNotes(List.of(new NoteCreateRequest("Title", " ", null)));
+
+        assertEquals(0, response.created());
+        assertThat(response.results().getFirst().errors()).containsOnlyKeys("text");
+        verify(noteRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void emptyBatchIsRejected() {
+        assertThrows(InvalidNoteRequestException.class, () -> noteService.createNotes(List.of()));
+    }
+
     @Test
     void successfulUpdateOfTheNote() {
         NoteUpdateRequest updateRequest = new NoteUpdateRequest(
@@ -124,8 +201,9 @@ public class NoteServiceTest {
                 .tags(Set.of(Tag.BUSINESS, Tag.IMPORTANT))
                 .createdDate(testNote.getCreatedDate())
                 .build();
-        when(noteRepository.findById("507f1f77bcf86cd799439011")).thenReturn(Optional.of(testNote));
-        when(noteRepository.save(any(Note.class))).thenReturn(updatedNote);
+        when(noteRepository.updateContent(eq("507f1f77bcf86cd799439011"), isNull(), eq(updateRequest.title()),
+                eq(updateRequest.text()), anyMap(), eq(updateRequest.tags())))
+                .thenReturn(Optional.of(new NoteUpdate(updatedNote, Set.of(Tag.BUSINESS, Tag.PERSONAL))));
 
         NoteDetailResponse response = noteService.updateNote("507f1f77bcf86cd799439011", updateRequest);
 
@@ -135,7 +213,42 @@ public class NoteServiceTest {
         assertTrue(response.text().contains("25% growth"));
         assertTrue(response.text().contains("executive review"));
         assertEquals(Set.of(Tag.BUSINESS, Tag.IMPORTANT), response.tags());
-        verify(noteRepository, times(1)).save(any(Note.class));
+        verify(noteRepository, never()).findById(any());
+        verify(noteRepository, never()).save(any(Note.class));
+        verify(noteRepository).incrementTagCounts(Map.of(Tag.IMPORTANT, 1L, Tag.PERSONAL, -1L));
+    }
+
+    @Test
+    void updateNoteSetsRecomputedWordStatisticsAndKeepsTagsWhenNotGiven() {
+        when(noteRepository.updateContent(any(), isNull(), any(), any(), anyMap(), isNull()))
+                .thenReturn(Optional.of(new NoteUpdate(testNote, testNote.getTags())));
+
+        noteService.updateNote("507f1f77bcf86cd799439011", new NoteUpdateRequest("Title", "Note is just a note", null));
+
+        verify(noteRepository).updateContent("507f1f77bcf86cd799439011", null, "Title", "Note is just a note",
+                Map.of("note", 2L, "is", 1L, "just", 1L, "a", 1L), null);
+    }
+
+    @Test
+    void conditionalUpdateOfModifiedNoteFailsWithVersionMismatch() {
+        NoteUpdateRequest updateRequest = new NoteUpdateRequest("Title", "Text", null);
+        when(noteRepository.updateContent(eq("507f1f77bcf86cd799439011"), eq(3L), any(), any(), anyMap(), any()))
+                .thenReturn(Optional.empty());
+        when(noteRepository.existsById("507f1f77bcf86cd799439011")).thenReturn(true);
+
+        assertThrows(NoteVersionMismatchException.class,
+                () -> noteService.updateNote("507f1f77bcf86cd799439011", updateRequest, 3L));
+    }
+
+    @Test
+    void conditionalUpdateOfMissingNoteFailsWithNotFound() {
+        NoteUpdateRequest updateRequest = new NoteUpdateRequest("Title", "Text", null);
+        when(noteRepository.updateContent(eq("nonexistent123"), eq(3L), any(), any(), anyMap(), any()))
+                .thenReturn(Optional.empty());
+        when(noteRepository.existsById("nonexistent123")).thenReturn(false);
+
+        assertThrows(NoteNotFoundException.class,
+                () -> noteService.updateNote("nonexistent123", updateRequest, 3L));
     }
 
     @Test
@@ -145,7 +258,7 @@ public class NoteServiceTest {
                 "This note doesn't exist in the database and should trigger an exception.",
                 Set.of(Tag.PERSONAL)
         );
-        when(noteRepository.findById("nonexistent123")).thenReturn(Optional.empty());
+        when(noteRepository.updateContent(eq("nonexistent123"), any(), any(), any(), anyMap(), any())).thenReturn(Optional.empty());
 
         NoteNotFoundException exception = assertThrows(
                 NoteNotFoundException.class,
@@ -156,22 +269,66 @@ public class NoteServiceTest {
 
     @Test
     void successfulNoteDelete() {
-        when(noteRepository.existsById("507f1f77bcf86cd799439011")).thenReturn(true);
-        doNothing().when(noteRepository).deleteById("507f1f77bcf86cd799439011");
+        when(noteRepository.removeReturningTags("507f1f77bcf86cd799439011")).thenReturn(Optional.of(testNote));
 
         assertDoesNotThrow(() -> noteService.deleteNote("507f1f77bcf86cd799439011"));
-        verify(noteRepository, times(1)).deleteById("507f1f77bcf86cd799439011");
+        verify(noteRepository, times(1)).removeReturningTags("507f1f77bcf86cd799439011");
+        verify(noteRepository, never()).existsById(any());
+        verify(noteRepository).incrementTagCounts(Map.of(Tag.BUSINESS, -1L, Tag.IMPORTANT, -1L));
     }
 
     @Test
     void NoteNotFoundDuringDelete() {
-        when(noteRepository.existsById("nonexistent456")).thenReturn(false);
+        when(noteRepository.removeReturningTags("nonexistent456")).thenReturn(Optional.empty());
 
         NoteNotFoundException exception = assertThrows(
                 NoteNotFoundException.class,
                 () -> noteService.deleteNote("nonexistent456")
         );
         assertTrue(exception.getMessage().contains("Note not found with id: nonexistent456"));
+        verify(noteRepository, never()).incrementTagCounts(any());
+    }
+
+    @Test
+    void bulkDeleteByIdsEvictsOnlyThoseNotes() {
+        List<String> ids = List.of("507f1f77bcf86cd799439011", "507f1f77bcf86cd799439012");
+        when(noteRepository.findById("507f1f77bcf86cd799439011")).thenReturn(Optional.of(testNote));
+        when(noteRepository.deleteMatching(ids, null)).thenReturn(2L);
+        noteService.getNoteById("507f1f77bcf86cd799439011");
+
+        NoteBulkResponse response = noteService.deleteNotes(new NoteFilter(ids, null));
+
+        assertEquals(new NoteBulkResponse(2, 2), response);
+        assertThat(noteCache.getIfPresent("507f1f77bcf86cd799439011")).isEmpty();
+    }
+
+    @Test
+    void bulkAddTagByTagReportsMatchedAndModifiedCounts() {
+        when(noteRepository.addTag(null, Tag.BUSINESS, Tag.IMPORTANT))
+                .thenReturn(UpdateResult.acknowledged(5, 3L, null));
+
+        NoteBulkResponse response = noteService.addTag(new NoteFilter(null, Tag.BUSINESS), Tag.IMPORTANT);
+
+        assertEquals(new NoteBulkResponse(5, 3), response);
+        verify(noteRepository).replaceTagCounts(Map.of(Tag.BUSINESS, 0L, Tag.PERSONAL, 0L, Tag.IMPORTANT, 0L));
+    }
+
+    @Test
+    void bulkRemoveTagReportsMatchedAndModifiedCounts() {
+        List<String> ids = List.of("507f1f77bcf86cd799439011");
+        when(noteRepository.removeTag(ids, null, Tag.PERSONAL))
+                .thenReturn(UpdateResult.acknowledged(1, 0L, null));
+
+        NoteBulkResponse response = noteService.removeTag(new NoteFilter(ids, null), Tag.PERSONAL);
+
+        assertEquals(new NoteBulkResponse(1, 0), response);
+    }
+
+    @Test
+    void bulkOperationWithoutIdsOrTagIsRejected() {
+        assertThrows(InvalidNoteRequestException.class,
+                () -> noteService.deleteNotes(new NoteFilter(null, null)));
+        verifyNoInteractions(noteRepository);
     }
 
     @Test
@@ -187,6 +344,58 @@ public class NoteServiceTest {
         assertEquals(Set.of(Tag.BUSINESS, Tag.IMPORTANT), response.tags());
     }
 
+    @Test
+    void repeatedGetNoteByIdIsServedFromCache() {
+        when(noteRepository.findById("507f1f77bcf86cd799439011")).thenReturn(Optional.of(testNote));
+
+        noteService.getNoteById("507f1f77bcf86cd799439011");
+        NoteDetailResponse response = noteService.getNoteById("507f1f77bcf86cd799439011");
+
+        assertEquals("Quarterly Business Review Meeting", response.title());
+        verify(noteRepository, times(1)).findById("507f1f77bcf86cd799439011");
+    }
+
+    @Test
+    void updateNoteInvalidatesCachedNote() {
+        when(noteRepository.findById("507f1f77bcf86cd799439011")).thenReturn(Optional.of(testNote));
+        when(noteRepository.updateContent(any(), any(), any(), any(), anyMap(), any()))
+                .thenReturn(Optional.of(new NoteUpdate(testNote, testNote.getTags())));
+        noteService.getNoteById("507f1f77bcf86cd799439011");
+
+        noteService.updateNote("507f1f77bcf86cd799439011",
+                new NoteUpdateRequest("Updated title", "Updated text", null));
+
+        assertThat(noteCache.getIfPresent("507f1f77bcf86cd799439011")).isEmpty();
+    }
+
+    @Test
+    void deleteNoteInvalidatesCachedNote() {
+        when(noteRepository.findById("507f1f77bcf86cd799439011")).thenReturn(Optional.of(testNote));
+        when(noteRepository.removeReturningTags("507f1f77bcf86cd799439011")).thenReturn(Optional.of(testNote));
+        noteService.getNoteById("507f1f77bcf86cd799439011");
+
+        noteService.deleteNote("507f1f77bcf86cd799439011");
+
+        assertThat(noteCache.getIfPresent("507f1f77bcf86cd799439011")).isEmpty();
+    }
+
+    @Test
+    void noteRevisionIsTakenFromCacheBeforeQueryingProjection() {
+        testNote.setVersion(2L);
+        when(noteRepository.findById("507f1f77bcf86cd799439011")).thenReturn(Optional.of(testNote));
+        when(noteRepository.findRevisionById("507f1f77bcf86cd799439012")).thenReturn(Optional.of(
+                new NoteRevision("507f1f77bcf86cd799439012", null, testNote.getCreatedDate(), null)));
+        noteService.getNoteById("507f1f77bcf86cd799439011");
+
+        NoteRevision cached = noteService.getNoteRevision("507f1f77bcf86cd799439011");
+        NoteRevision queried = noteService.getNoteRevision("507f1f77bcf86cd799439012");
+
+        assertEquals(2L, cached.currentVersion());
+        assertEquals(0L, queried.currentVersion());
+        assertEquals(testNote.getCreatedDate(), queried.lastModified());
+        verify(noteRepository, never()).findRevisionById("507f1f77bcf86cd799439011");
+    }
+
     @Test
     void NotFoundDuringGetNoteById() {
         when(noteRepository.findById("nonexistent789")).thenReturn(Optional.empty());
@@ -197,12 +406,192 @@ public class NoteServiceTest {
 
     @Test
     void NotFoundDuringGetWordStatistics() {
-        when(noteRepository.findById("nonexistent999")).thenReturn(Optional.empty());
+        when(noteRepository.findWordStatisticsById("nonexistent999")).thenReturn(Optional.empty());
 
         assertThrows(NoteNotFoundException.class, () ->
                 noteService.getWordStatistics("nonexistent999"));
     }
 
+    @Test
+    void cursorPageReturnsNextCursorWhenMoreNotesExist() {
+        NoteSummary newer = new NoteSummary("507f1f77bcf86cd799439013", "Newer", LocalDateTime.of(2024, 11, 10, 9, 0));
+        NoteSummary older = new NoteSummary("507f1f77bcf86cd799439012", "Older", LocalDateTime.of(2024, 11, 8, 10, 15));
+        when(noteRepository.findPageAfter(null, Tag.BUSINESS, 3)).thenReturn(List.of(newer, testSummary, older));
+
+        NoteCursorPageResponse response = noteService.listNotes(null, 2, Tag.BUSINESS);
+
+        assertEquals(2, response.content().size());
+        assertEquals("Newer", response.content().getFirst().title());
+        assertTrue(response.hasNext());
+        assertEquals(new NoteCursor(testNote.getCreatedDate(), testNote.getId()), NoteCursor.decode(response.nextCursor()));
+    }
+
+    @Test
+    void cursorPageResumesAfterDecodedCursor() {
+        NoteCursor cursor = new NoteCursor(testNote.getCreatedDate(), testNote.getId());
+        when(noteRepository.findPageAfter(cursor, null, 11)).thenReturn(List.of(testSummary));
+
+        NoteCursorPageResponse response = noteService.listNotes(cursor.encode(), 10, null);
+
+        assertEquals(1, response.content().size());
+        assertFalse(response.hasNext());
+        assertNull(response.nextCursor());
+    }
+
+    @Test
+    void cursorPageFromDateSeeksByCreatedDate() {
+        LocalDateTime from = LocalDateTime.of(2024, 11, 9, 23, 59);
+        when(noteRepository.findPageFrom(from, null, 11)).thenReturn(List.of(testSummary));
+
+        NoteCursorPageResponse response = noteService.listNotesFrom(from, 10, null);
+
+        assertEquals("507f1f77bcf86cd799439011", response.content().getFirst().id());
+        assertFalse(response.hasNext());
+    }
+
+    @Test
+    void invalidCursorIsRejected() {
+        assertThrows(InvalidNoteRequestException.class, () -> noteService.listNotes("not-a-cursor", 10, null));
+        verifyNoInteractions(noteRepository);
+    }
+
+    @Test
+    void exportMapsStreamedNotesAndClosesTheCursor() {
+        LocalDateTime from = LocalDateTime.of(2024, 11, 1, 0, 0);
+        boolean[] closed = {false};
+        when(noteRepository.streamForExport(Tag.BUSINESS, from, null))
+                .thenReturn(Stream.of(testNote).onClose(() -> closed[0] = true));
+
+        try (Stream<NoteDetailResponse> notes = noteService.exportNotes(Tag.BUSINESS, from, null)) {
+            assertEquals(List.of("507f1f77bcf86cd799439011"), notes.map(NoteDetailResponse::id).toList());
+        }
+        assertTrue(closed[0]);
+    }
+
+    @Test
+    void exportRejectsEmptyDateRange() {
+        LocalDateTime date = LocalDateTime.of(2024, 11, 1, 0, 0);
+        assertThrows(InvalidNoteRequestException.class, () -> noteService.exportNotes(null, date, date));
+        verifyNoInteractions(noteRepository);
+    }
+
+    @Test
+    void createdNoteIsSuggestedByTitle() {
+        when(noteRepository.save(any(Note.class))).thenReturn(testNote);
+
+        noteService.createNote(createRequest);
+
+        assertThat(noteService.suggestNotes("quarterly", 10))
+                .extracting(NoteSuggestion::id).containsExactly(testNote.getId());
+    }
+
+    @Test
+    void suggestRejectsLimitOutOfRange() {
+        assertThrows(InvalidNoteRequestException.class, () -> noteService.suggestNotes("q", 51));
+    }
+
+    @Test
+    void searchMapsRankedNotes() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(noteRepository.search("quarterly review", Tag.BUSINESS, pageable))
+                .thenReturn(new PageImpl<>(List.of(testSummary), pageable, 1));
+
+        Page<NoteListResponse> response = noteService.searchNotes(" quarterly review ", pageable, Tag.BUSINESS);
+
+        assertEquals(1, response.getTotalElements());
+        assertEquals("Quarterly Business Review Meeting", response.getContent().getFirst().title());
+    }
+
+    @Test
+    void searchRejectsBlankQuery() {
+        assertThrows(InvalidNoteRequestException.class,
+                () -> noteService.searchNotes(" ", PageRequest.of(0, 10), null));
+        verifyNoInteractions(noteRepository);
+    }
+
+    @Test
+    void listingBySeveralTagsQueriesTheirMask() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(noteRepository.findByTagMask(0b101L, true, pageable))
+                .thenReturn(new PageImpl<>(List.of(testSummary), pageable, 1));
+
+        Page<NoteListResponse> response = noteService.listNotesByTags(pageable, Set.of(Tag.BUSINESS, Tag.IMPORTANT),
+                TagMatch.ALL);
+
+        assertEquals(1, response.getTotalElements());
+    }
+
+    @Test
+    void listingByNoTagsIsRejected() {
+        assertThrows(InvalidNoteRequestException.class,
+                () -> noteService.listNotesByTags(PageRequest.of(0, 10), Set.of(), TagMatch.ANY));
+        verifyNoInteractions(noteRepository);
+    }
+
+    @Test
+    void createdNoteStoresItsTagMask() {
+        when(noteRepository.save(any(Note.class))).thenReturn(testNote);
+
+        noteService.createNote(createRequest);
+
+        ArgumentCaptor<Note> saved = ArgumentCaptor.forClass(Note.class);
+        verify(noteRepository).save(saved.capture());
+        assertEquals(Tag.BUSINESS.bit() | Tag.IMPORTANT.bit(), saved.getValue().getTagMask());
+    }
+
+    @Test
+    void sliceListingDoesNotCount() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(noteRepository.findSliceByTagsContainingOrderByCreatedDateDesc(Tag.BUSINESS, pageable))
+                .thenReturn(new SliceImpl<>(List.of(testSummary), pageable, true));
+
+        NoteSliceResponse response = noteService.listNotesSlice(pageable, Tag.BUSINESS);
+
+        assertEquals(1, response.content().size());
+        assertTrue(response.hasNext());
+        verify(noteRepository, never()).countByTagsContaining(any());
+        verify(noteRepository, never()).count();
+    }
+
+    @Test
+    void concurrentCountProvidesTotalForFullPage() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(noteRepository.findSliceByOrderByCreatedDateDesc(pageable))
+                .thenReturn(new SliceImpl<>(List.of(testSummary), pageable, true));
+        when(noteRepository.count()).thenReturn(42L);
+
+        Page<NoteListResponse> page = noteService.listNotes(pageable, null, CountMode.CONCURRENT);
+
+        assertEquals(42L, page.getTotalElements());
+        assertEquals("507f1f77bcf86cd799439011", page.getContent().getFirst().id());
+    }
+
+    @Test
+    void estimatedCountIsCachedPerTag() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(noteRepository.findSliceByTagsContainingOrderByCreatedDateDesc(Tag.IMPORTANT, pageable))
+                .thenReturn(new SliceImpl<>(List.of(testSummary), pageable, true));
+        when(noteRepository.countByTagsContaining(Tag.IMPORTANT)).thenReturn(7L);
+
+        noteService.listNotes(pageable, Tag.IMPORTANT, CountMode.ESTIMATED);
+        Page<NoteListResponse> page = noteService.listNotes(pageable, Tag.IMPORTANT, CountMode.ESTIMATED);
+
+        assertEquals(7L, page.getTotalElements());
+        verify(noteRepository, times(1)).countByTagsContaining(Tag.IMPORTANT);
+    }
+
+    @Test
+    void lastPageTotalIsDerivedWithoutCounting() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(noteRepository.findSliceByOrderByCreatedDateDesc(pageable))
+                .thenReturn(new SliceImpl<>(List.of(testSummary), pageable, false));
+
+        Page<NoteListResponse> page = noteService.listNotes(pageable, null, CountMode.ESTIMATED);
+
+        assertEquals(1L, page.getTotalElements());
+        verify(noteRepository, never()).estimatedCount();
+    }
+
     @ParameterizedTest(name = "[{index}] text=''{0}'' should return correct statistics")
     @MethodSource("provideWordStatisticsTestCases")
     void getWordStatistics_variousCases(String testId, String text, Map<String, Long> expectedStats) {
@@ -214,14 +603,44 @@ public class NoteServiceTest {
                 .createdDate(LocalDateTime.now())
                 .build();
 
+        when(noteRepository.findWordStatisticsById(testId)).thenReturn(Optional.of(new NoteWordStatistics(testId, null, 0L, note.getCreatedDate(), null)));
         when(noteRepository.findById(testId)).thenReturn(Optional.of(note));
 
         // Act
-        Map<String, Long> result = noteService.getWordStatistics(testId);
+        NoteWordStatistics result = noteService.getWordStatistics(testId);
 
         // Assert
-        assertThat(result).containsExactlyInAnyOrderEntriesOf(expectedStats);
+        assertThat(result.wordStatistics()).containsExactlyInAnyOrderEntriesOf(expectedStats);
+        assertThat(result.revision().lastModified()).isEqualTo(note.getCreatedDate());
         verify(noteRepository, times(1)).findById(testId);
+        verify(noteRepository, times(1)).saveWordStatistics(Map.of(testId, result.wordStatistics()));
+    }
+
+    @Test
+    void storedWordStatisticsAreReturnedWithoutLoadingNote() {
+        Map<String, Long> stored = createOrderedMap("note", 2L, "is", 1L);
+        when(noteRepository.findWordStatisticsById("507f1f77bcf86cd799439011"))
+                .thenReturn(Optional.of(new NoteWordStatistics("507f1f77bcf86cd799439011", stored, 2L,
+                        LocalDateTime.now(), LocalDateTime.now())));
+
+        NoteWordStatistics result = noteService.getWordStatistics("507f1f77bcf86cd799439011");
+
+        assertThat(result.wordStatistics()).containsExactlyEntriesOf(stored);
+        assertThat(result.version()).isEqualTo(2L);
+        verify(noteRepository, never()).findById(any());
+    }
+
+    @Test
+    void wordStatisticsAreComputedOnCreate() {
+        NoteCreateRequest request = new NoteCreateRequest("Title", "note is just a Note", null);
+        when(noteRepository.save(any(Note.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        noteService.createNote(request);
+
+        ArgumentCaptor<Note> saved = ArgumentCaptor.forClass(Note.class);
+        verify(noteRepository).save(saved.capture());
+        assertThat(saved.getValue().getWordStatistics())
+                .containsExactlyInAnyOrderEntriesOf(Map.of("note", 2L, "is", 1L, "just", 1L, "a", 1L));
     }
 
     private static Stream<Arguments> provideWordStatisticsTestCases() {
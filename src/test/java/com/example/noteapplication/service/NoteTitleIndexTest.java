@@ -0,0 +1,96 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.dto.NoteSuggestion;
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.repository.NoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NoteTitleIndexTest {
+    private static final String MEETING = "507f1f77bcf86cd799439011";
+    private static final String MEMO = "507f1f77bcf86cd799439012";
+    private static final String BUDGET = "507f1f77bcf86cd799439013";
+    private static final String MERGE = "507f1f77bcf86cd799439014";
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Test
+    void suggestsStoredAndWrittenTitlesInAlphabeticalOrderIgnoringCase() {
+        NoteTitleIndex index = index(100);
+        index.put(MERGE, "merge plan");
+
+        assertThat(titles(index.suggest("ME", 10))).containsExactly("Meeting Notes", "Memo", "merge plan");
+        assertThat(titles(index.suggest("me", 2))).containsExactly("Meeting Notes", "Memo");
+        assertThat(index.suggest("x", 10)).isEmpty();
+    }
+
+    @Test
+    void writesOverrideTheSnapshot() {
+        NoteTitleIndex index = index(100);
+        index.put(MEETING, "Agenda");
+        index.remove(MEMO);
+
+        assertThat(titles(index.suggest("me", 10))).isEmpty();
+        assertThat(index.suggest("ag", 10)).containsExactly(new NoteSuggestion(MEETING, "Agenda"));
+    }
+
+    @Test
+    void compactionKeepsVisibleTitles() {
+        NoteTitleIndex index = index(2);
+        index.remove(MEMO);
+        index.put(MERGE, "Merge plan");
+
+        assertThat(titles(index.suggest("", 10))).containsExactly("Budget", "Meeting Notes", "Merge plan");
+        assertThat(index.snapshotBytes()).isGreaterThan(3 * 12);
+    }
+
+    @Test
+    void writesMadeWhileCompactingAreKept() {
+        List<Runnable> tasks = new ArrayList<>();
+        NoteTitleIndex index = index(2, tasks::add);
+        long bytes = index.snapshotBytes();
+        index.remove(MEMO);
+        index.put(MERGE, "Merge plan");
+        index.put(MEETING, "Agenda");
+        index.remove(BUDGET);
+
+        assertThat(tasks).hasSize(1);
+        tasks.getFirst().run();
+
+        assertThat(titles(index.suggest("", 10))).containsExactly("Agenda", "Merge plan");
+        assertThat(index.snapshotBytes()).isGreaterThan(bytes);
+    }
+
+    private NoteTitleIndex index(int compactionThreshold) {
+        return index(compactionThreshold, Runnable::run);
+    }
+
+    private NoteTitleIndex index(int compactionThreshold, Executor executor) {
+        when(noteRepository.streamTitles()).thenReturn(Stream.of(
+                Note.builder().id(MEMO).title("Memo").build(),
+                Note.builder().id(BUDGET).title("Budget").build(),
+                Note.builder().id(MEETING).title("Meeting Notes").build()
+        ));
+        NoteTitleIndex index = new NoteTitleIndex(noteRepository, executor, compactionThreshold,
+                new SimpleMeterRegistry());
+        index.rebuild();
+        return index;
+    }
+
+    private static List<String> titles(List<NoteSuggestion> suggestions) {
+        return suggestions.stream().map(NoteSuggestion::title).toList();
+    }
+}
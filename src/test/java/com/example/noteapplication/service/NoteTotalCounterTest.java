@@ -0,0 +1,37 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.repository.NoteRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NoteTotalCounterTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Test
+    void finishedCountIsReturned() {
+        NoteTotalCounter counter = new NoteTotalCounter(
+                noteRepository, Runnable::run, Duration.ofSeconds(30), Duration.ofSeconds(2));
+
+        assertEquals(42L, counter.awaitOrEstimate(CompletableFuture.completedFuture(42L), null));
+    }
+
+    @Test
+    void countThatDoesNotFinishInTimeIsEstimated() {
+        NoteTotalCounter counter = new NoteTotalCounter(
+                noteRepository, Runnable::run, Duration.ofSeconds(30), Duration.ofMillis(10));
+        when(noteRepository.estimatedCount()).thenReturn(40L);
+
+        assertEquals(40L, counter.awaitOrEstimate(new CompletableFuture<>(), null));
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.dto.NoteCreateRequest;
+import com.example.noteapplication.dto.NoteListResponse;
+import com.example.noteapplication.dto.NoteUpdateRequest;
+import com.example.noteapplication.dto.TagMatch;
+import com.example.noteapplication.exception.NoteNotFoundException;
+import com.example.noteapplication.exception.NoteVersionMismatchException;
+import com.example.noteapplication.mapper.NoteMapper;
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.NoteSummary;
+import com.example.noteapplication.model.NoteWordStatistics;
+import com.example.noteapplication.model.Tag;
+import com.example.noteapplication.repository.ReactiveNoteRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveNoteServiceTest {
+
+    @Mock
+    private ReactiveNoteRepository noteRepository;
+    private ReactiveNoteService noteService;
+    private Note testNote;
+
+    @BeforeEach
+    void setUp() {
+        noteService = new ReactiveNoteServiceImpl(noteRepository, new NoteMapper(),
+                new NoteFactory(Validation.buildDefaultValidatorFactory().getValidator()));
+        testNote = Note.builder()
+                .id("507f1f77bcf86cd799439011")
+                .title("Quarterly Business Review Meeting")
+                .text("Note is just a note")
+                .tags(Set.of(Tag.BUSINESS))
+                .createdDate(LocalDateTime.of(2024, 11, 9, 14, 30))
+                .version(1L)
+                .build();
+    }
+
+    @Test
+    void createNoteStoresWordStatistics() {
+        when(noteRepository.save(any(Note.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(noteService.createNote(new NoteCreateRequest("Title", "Note is just a note", null)))
+                .assertNext(response -> assertThat(response.title()).isEqualTo("Title"))
+                .verifyComplete();
+        verify(noteRepository).save(argThat(note -> note.getWordStatistics().get("note") == 2L));
+    }
+
+    @Test
+    void listNotesCombinesPageAndCount() {
+        NoteSummary summary = new NoteSummary(testNote.getId(), testNote.getTitle(), testNote.getCreatedDate());
+        when(noteRepository.findByTagsContainingOrderByCreatedDateDesc(Tag.BUSINESS, PageRequest.of(0, 1)))
+                .thenReturn(Flux.just(summary));
+        when(noteRepository.countByTagsContaining(Tag.BUSINESS)).thenReturn(Mono.just(3L));
+
+        StepVerifier.create(noteService.listNotes(PageRequest.of(0, 1), Tag.BUSINESS))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).extracting(NoteListResponse::id).containsExactly(testNote.getId());
+                    assertThat(page.getTotalElements()).isEqualTo(3);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void listNotesByTagsMatchesTheTagMask() {
+        NoteSummary summary = new NoteSummary(testNote.getId(), testNote.getTitle(), testNote.getCreatedDate());
+        long mask = Tag.mask(Set.of(Tag.BUSINESS, Tag.IMPORTANT));
+        when(noteRepository.findByTagMask(mask, false, PageRequest.of(0, 1))).thenReturn(Flux.just(summary));
+        when(noteRepository.countByTagMask(mask, false)).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(noteService.listNotesByTags(PageRequest.of(0, 1), Set.of(Tag.BUSINESS, Tag.IMPORTANT),
+                        TagMatch.ANY))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).extracting(NoteListResponse::id).containsExactly(testNote.getId());
+                    assertThat(page.getTotalElements()).isEqualTo(2);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void conditionalUpdateOfModifiedNoteFailsWithVersionMismatch() {
+        when(noteRepository.updateContent(eq(testNote.getId()), eq(0L), any(), any(), anyMap(), any()))
+                .thenReturn(Mono.empty());
+        when(noteRepository.existsById(testNote.getId())).thenReturn(Mono.just(true));
+
+        StepVerifier.create(noteService.updateNote(testNote.getId(), new NoteUpdateRequest("Title", "Text", null), 0L))
+                .verifyError(NoteVersionMismatchException.class);
+    }
+
+    @Test
+    void deleteOfMissingNoteFailsWithNotFound() {
+        when(noteRepository.removeById("nonexistent456")).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(noteService.deleteNote("nonexistent456"))
+                .verifyError(NoteNotFoundException.class);
+    }
+
+    @Test
+    void missingWordStatisticsAreComputedAndStored() {
+        when(noteRepository.findWordStatisticsById(testNote.getId()))
+                .thenReturn(Mono.just(new NoteWordStatistics(testNote.getId(), null, 1L, testNote.getCreatedDate(), null)));
+        when(noteRepository.findById(testNote.getId())).thenReturn(Mono.just(testNote));
+        when(noteRepository.saveWordStatistics(eq(testNote.getId()), anyMap())).thenReturn(Mono.empty());
+
+        StepVerifier.create(noteService.getWordStatistics(testNote.getId()))
+                .assertNext(statistics -> {
+                    assertThat(statistics.wordStatistics())
+                            .containsEntry("note", 2L)
+                            .containsEntry("just", 1L);
+                    assertThat(statistics.version()).isEqualTo(1L);
+                })
+                .verifyComplete();
+        verify(noteRepository).saveWordStatistics(eq(testNote.getId()), anyMap());
+    }
+}
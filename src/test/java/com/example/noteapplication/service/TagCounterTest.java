@@ -0,0 +1,83 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.model.Tag;
+import com.example.noteapplication.repository.NoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TagCounterTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+    private TagCounter tagCounter;
+
+    @BeforeEach
+    void setUp() {
+        tagCounter = new TagCounter(noteRepository, Runnable::run);
+    }
+
+    @Test
+    void createdNotesAreCountedInOneIncrement() {
+        tagCounter.created(List.of(
+                Note.builder().tags(Set.of(Tag.BUSINESS, Tag.IMPORTANT)).build(),
+                Note.builder().tags(Set.of(Tag.BUSINESS)).build(),
+                Note.builder().tags(Set.of()).build()));
+
+        verify(noteRepository).incrementTagCounts(Map.of(Tag.BUSINESS, 2L, Tag.IMPORTANT, 1L));
+    }
+
+    @Test
+    void updateCountsOnlyAddedAndRemovedTags() {
+        tagCounter.updated(Set.of(Tag.BUSINESS, Tag.PERSONAL), Set.of(Tag.BUSINESS, Tag.IMPORTANT));
+
+        verify(noteRepository).incrementTagCounts(Map.of(Tag.IMPORTANT, 1L, Tag.PERSONAL, -1L));
+    }
+
+    @Test
+    void updateKeepingTagsChangesNoCounter() {
+        tagCounter.updated(Set.of(Tag.BUSINESS), null);
+
+        verify(noteRepository, never()).incrementTagCounts(any());
+    }
+
+    @Test
+    void deletedNoteIsUncounted() {
+        tagCounter.deleted(Note.builder().tags(Set.of(Tag.PERSONAL)).build());
+
+        verify(noteRepository).incrementTagCounts(Map.of(Tag.PERSONAL, -1L));
+    }
+
+    @Test
+    void countsIncludeTagsThatWereNeverCounted() {
+        when(noteRepository.findTagCounts()).thenReturn(Map.of(Tag.BUSINESS, 3L));
+
+        assertThat(tagCounter.counts()).containsExactly(
+                Map.entry(Tag.BUSINESS, 3L), Map.entry(Tag.PERSONAL, 0L), Map.entry(Tag.IMPORTANT, 0L));
+    }
+
+    @Test
+    void reconciliationOverwritesDriftedCounters() {
+        when(noteRepository.findTagCounts()).thenReturn(Map.of(Tag.BUSINESS, 5L, Tag.PERSONAL, 2L));
+        when(noteRepository.countByTag()).thenReturn(Map.of(Tag.BUSINESS, 4L, Tag.PERSONAL, 2L));
+
+        int corrected = tagCounter.reconcile();
+
+        assertThat(corrected).isEqualTo(2);
+        verify(noteRepository).replaceTagCounts(Map.of(Tag.BUSINESS, 4L, Tag.PERSONAL, 2L, Tag.IMPORTANT, 0L));
+    }
+}
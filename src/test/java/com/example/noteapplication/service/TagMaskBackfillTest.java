@@ -0,0 +1,46 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.repository.NoteRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TagMaskBackfillTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Test
+    void backfillStoresMasksInBatchesOfIds() {
+        TagMaskBackfill backfill = new TagMaskBackfill(noteRepository);
+        ReflectionTestUtils.setField(backfill, "batchSize", 2);
+        when(noteRepository.streamWithoutTagMask()).thenReturn(Stream.of(
+                Note.builder().id("id0").build(),
+                Note.builder().id("id1").build(),
+                Note.builder().id("id2").build()));
+        List<List<String>> batches = new ArrayList<>();
+        // id1 got its mask from a concurrent tag update in the meantime
+        when(noteRepository.saveTagMasks(anyCollection())).thenAnswer(invocation -> {
+            List<String> ids = List.copyOf(invocation.getArgument(0));
+            batches.add(ids);
+            return ids.contains("id1") ? ids.size() - 1L : (long) ids.size();
+        });
+
+        long updated = backfill.backfill();
+
+        assertEquals(2, updated);
+        assertEquals(List.of(List.of("id0", "id1"), List.of("id2")), batches);
+    }
+}
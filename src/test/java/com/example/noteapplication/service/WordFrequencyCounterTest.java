@@ -0,0 +1,63 @@
+package com.example.noteapplication.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WordFrequencyCounterTest {
+    private static final Pattern NON_WORD_PATTERN = Pattern.compile("[^a-zа-яієїґ\\s]");
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+    @Test
+    void dropsNonLetterCharactersInsideWords() {
+        assertThat(WordFrequencyCounter.count("Don't follow-up Q4 co.op"))
+                .containsExactly(Map.entry("dont", 1L), Map.entry("followup", 1L), Map.entry("q", 1L), Map.entry("coop", 1L));
+    }
+
+    @Test
+    void sortsByFrequencyThenFirstOccurrence() {
+        assertThat(WordFrequencyCounter.count("b a c a b a ЄҐ єґ"))
+                .containsExactly(Map.entry("a", 3L), Map.entry("b", 2L), Map.entry("єґ", 2L), Map.entry("c", 1L));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 7, 42})
+    void matchesRegularExpressionTokenizer(int seed) {
+        String text = randomText(new Random(seed), 20_000);
+
+        Map<String, Long> result = WordFrequencyCounter.count(text);
+
+        assertThat(result).containsExactlyInAnyOrderEntriesOf(regexCount(text));
+        List<Long> counts = new ArrayList<>(result.values());
+        assertThat(counts).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+
+    private static String randomText(Random random, int length) {
+        String alphabet = "abcxyzABCXYZабвяАБВЯіїєґІЇЄҐёЁ0123456789 \t\n\r\f\u000B .,!?'-İK";
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            // bias towards letters and spaces so words repeat
+            int index = random.nextInt(4) == 0 ? random.nextInt(alphabet.length()) : random.nextInt(6);
+            text.append(random.nextInt(5) == 0 ? ' ' : alphabet.charAt(index));
+        }
+        return text.toString();
+    }
+
+    private static Map<String, Long> regexCount(String text) {
+        String cleanedText = NON_WORD_PATTERN.matcher(text.toLowerCase()).replaceAll("");
+        return Arrays.stream(WHITESPACE_PATTERN.split(cleanedText))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    }
+}
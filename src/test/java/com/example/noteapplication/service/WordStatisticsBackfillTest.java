@@ -0,0 +1,46 @@
+package com.example.noteapplication.service;
+
+import com.example.noteapplication.model.Note;
+import com.example.noteapplication.repository.NoteRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WordStatisticsBackfillTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Test
+    void backfillWritesStatisticsInBatchesAndCountsTheNotesUpdated() {
+        WordStatisticsBackfill backfill = new WordStatisticsBackfill(noteRepository);
+        ReflectionTestUtils.setField(backfill, "batchSize", 2);
+        when(noteRepository.streamWithoutWordStatistics()).thenReturn(IntStream.range(0, 5)
+                .mapToObj(i -> Note.builder().id("id" + i).text("word word " + i).build()));
+        List<Map<String, Map<String, Long>>> batches = new ArrayList<>();
+        doAnswer(invocation -> {
+            Map<String, Map<String, Long>> batch = invocation.getArgument(0);
+            batches.add(Map.copyOf(batch));
+            return batch.containsKey("id1") ? 1L : (long) batch.size();
+        }).when(noteRepository).saveWordStatistics(anyMap());
+
+        long updated = backfill.backfill();
+
+        assertEquals(4, updated);
+        assertEquals(List.of(2, 2, 1), batches.stream().map(Map::size).toList());
+        assertEquals(Map.of("word", 2L), batches.getFirst().get("id0"));
+    }
+}